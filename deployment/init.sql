@@ -3,9 +3,29 @@ CREATE TABLE IF NOT EXISTS products (
     id SERIAL PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     price DECIMAL(10, 2) NOT NULL,
-    description TEXT
+    description TEXT,
+    -- Optimistic locking and ETags, incremented on every update (Product.version)
+    version BIGINT NOT NULL DEFAULT 0,
+    -- Full-text search document: name terms weigh more than description terms.
+    -- 'simple' neither stems nor drops stop words, which suits a multilingual catalog;
+    -- to use a language configuration (e.g. 'spanish') change it here and in products.search.config
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', name), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED
 );
 
+-- Keyset pagination indexes: every listing order is (sort key, id)
+CREATE INDEX IF NOT EXISTS idx_products_price_id ON products (price, id);
+CREATE INDEX IF NOT EXISTS idx_products_name_id ON products (name, id);
+
+-- Listing filter nameContains: ILIKE '%...%' through trigrams
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING GIN (name gin_trgm_ops);
+
+-- Full-text search (GET /api/v1/products/search)
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+
 -- Insertar 20 registros de ejemplo
 INSERT INTO products (name, price, description) VALUES
 ('Laptop HP EliteBook', 1200.99, 'Core i7, 16GB RAM, 512GB SSD'),
@@ -27,4 +47,8 @@ INSERT INTO products (name, price, description) VALUES
 ('Disco Duro Externo 2TB', 89.99, 'USB 3.2 Gen 2'),
 ('Kit Limpieza PC', 19.99, 'Aire comprimido + brochas'),
 ('Silla Gamer', 299.00, 'Ergonómica con soporte lumbar'),
-('Micrófono Blue Yeti', 129.00, 'USB, 4 patrones polares');
\ No newline at end of file
+('Micrófono Blue Yeti', 129.00, 'USB, 4 patrones polares');
+
+-- Hand out ids in blocks of 50 so Hibernate's pooled optimizer can batch inserts.
+-- Must match Product.ID_ALLOCATION_SIZE; plain INSERTs relying on the SERIAL default keep working.
+ALTER SEQUENCE products_id_seq INCREMENT BY 50;
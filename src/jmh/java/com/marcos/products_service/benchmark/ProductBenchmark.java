@@ -0,0 +1,60 @@
+package com.marcos.products_service.benchmark;
+
+import com.marcos.products_service.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building products: the validating constructor, the Lombok builder, and a
+ * {@code toBuilder()} copy. Updates no longer copy the entity, as they go
+ * through {@code UPDATE ... RETURNING}; the copy is kept as a baseline for
+ * code that derives one product from another.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductBenchmark {
+
+    // Not final, so the JIT can't fold the arguments into constants
+    private long id = 42L;
+    private String name = "Monitor 4K";
+    private double price = 450.75;
+    private String description = "27 inch IPS panel";
+
+    private final Product product = new Product(42L, "Monitor 4K", 450.75, "27 inch IPS panel", 3L);
+
+    @Benchmark
+    public Product constructor() {
+        return new Product(id, name, price, description);
+    }
+
+    @Benchmark
+    public Product builder() {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .price(price)
+                .description(description)
+                .build();
+    }
+
+    @Benchmark
+    public Product toBuilderCopy() {
+        return product.toBuilder()
+                .price(price)
+                .build();
+    }
+
+}
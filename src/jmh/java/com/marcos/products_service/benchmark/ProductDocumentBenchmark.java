@@ -0,0 +1,99 @@
+package com.marcos.products_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.products_service.dto.ProductDocument;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Writes a product and a listing page through {@link ProductDocument} and
+ * through the nested maps the controller used to build, into a discarding
+ * stream so only serialization is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductDocumentBenchmark {
+
+    // The sink is reused across calls, so it must stay open
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private Product product;
+    private ProductPage page;
+
+    @Setup
+    public void setUp() {
+        product = new Product(1L, "Monitor 4K", 450.75, "27 inch IPS panel", 3L);
+        page = new ProductPage(IntStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new Product((long) id, "Product " + id, 10.0 + id, id % 3 == 0 ? null : "Desc " + id))
+                .toList(), "bmV4dA");
+    }
+
+    @Benchmark
+    public void singleMaps() throws IOException {
+        objectMapper.writeValue(sink, Map.of("data", buildResource(product)));
+    }
+
+    @Benchmark
+    public void singleDocument() throws IOException {
+        objectMapper.writeValue(sink, ProductDocument.of(product));
+    }
+
+    @Benchmark
+    public void pageMaps() throws IOException {
+        List<Map<String, Object>> data = page.products().stream()
+                .map(ProductDocumentBenchmark::buildResource)
+                .toList();
+        Map<String, Object> links = new LinkedHashMap<>();
+        links.put("self", "/api/v1/products?sort=id&limit=" + pageSize);
+        links.put("next", "/api/v1/products?sort=id&limit=" + pageSize + "&cursor=" + page.nextCursor());
+        objectMapper.writeValue(sink, Map.of("data", data, "links", links));
+    }
+
+    @Benchmark
+    public void pageDocument() throws IOException {
+        objectMapper.writeValue(sink, ProductDocument.of(page,
+                "/api/v1/products?sort=id&limit=" + pageSize,
+                "/api/v1/products?sort=id&limit=" + pageSize + "&cursor=" + page.nextCursor()));
+    }
+
+    /**
+     * The controller's former per-product resource map.
+     */
+    private static Map<String, Object> buildResource(Product product) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("id", product.getId());
+        attributes.put("name", product.getName());
+        attributes.put("price", product.getPrice());
+        attributes.put("description", product.getDescription());
+        return Map.of("type", "product", "attributes", attributes);
+    }
+
+}
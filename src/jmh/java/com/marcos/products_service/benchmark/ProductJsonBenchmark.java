@@ -0,0 +1,91 @@
+package com.marcos.products_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.marcos.products_service.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Plain Jackson binding of {@link Product}, one product and a list of
+ * {@code listSize}, in both directions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Param({"1000", "10000"})
+    private int listSize;
+
+    private ObjectWriter productWriter;
+    private ObjectWriter listWriter;
+    private ObjectReader productReader;
+    private ObjectReader listReader;
+
+    private Product product;
+    private List<Product> products;
+    private byte[] productJson;
+    private byte[] listJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // The sink is reused across calls, so it must stay open
+        ObjectMapper objectMapper = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        productWriter = objectMapper.writerFor(Product.class);
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, Product.class));
+        productReader = objectMapper.readerFor(Product.class);
+        listReader = objectMapper.readerForListOf(Product.class);
+
+        product = new Product(42L, "Monitor 4K", 450.75, "27 inch IPS panel", 3L);
+        products = IntStream.rangeClosed(1, listSize)
+                .mapToObj(id -> new Product((long) id, "Product " + id, 10.0 + id, id % 3 == 0 ? null : "Desc " + id))
+                .toList();
+        productJson = productWriter.writeValueAsBytes(product);
+        listJson = listWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public void serializeProduct() throws IOException {
+        productWriter.writeValue(sink, product);
+    }
+
+    @Benchmark
+    public Product deserializeProduct() throws IOException {
+        return productReader.readValue(productJson);
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        listWriter.writeValue(sink, products);
+    }
+
+    @Benchmark
+    public List<Product> deserializeList() throws IOException {
+        return listReader.readValue(listJson);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.marcos.products_service.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Makes every statement the application executes take {@code loadtest.db-latency}
+ * longer, sleeping while the connection is held as a slow database would.
+ * Does nothing when the latency is zero.
+ */
+class InjectedDatabaseLatency implements BeanPostProcessor, EnvironmentAware {
+
+    private Duration latency = Duration.ZERO;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        latency = environment.getProperty("loadtest.db-latency", Duration.class, Duration.ZERO);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || latency.isZero()) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return (Connection) proxy(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return (Connection) proxy(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Wraps a connection so the statements it hands out sleep before every
+     * {@code execute*} call.
+     */
+    private Object proxy(Class<?> type, Object target) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (type != Connection.class && method.getName().startsWith("execute")) {
+                Thread.sleep(latency.toMillis());
+            }
+            try {
+                Object result = method.invoke(target, args);
+                return result instanceof Statement statement && type == Connection.class
+                        ? proxy(statementType(statement), statement)
+                        : result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static Class<?> statementType(Statement statement) {
+        if (statement instanceof CallableStatement) {
+            return CallableStatement.class;
+        }
+        return statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+    }
+
+}
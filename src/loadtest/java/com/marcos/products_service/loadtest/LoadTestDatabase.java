@@ -0,0 +1,89 @@
+package com.marcos.products_service.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * The stand-in database a load test runs against: a Postgres container when
+ * Docker is available, an embedded Postgres otherwise. Either way it gets
+ * the production schema from {@code deployment/init.sql}.
+ */
+final class LoadTestDatabase implements AutoCloseable {
+
+    private static final String INIT_SCRIPT = "deployment/init.sql";
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final AutoCloseable server;
+
+    private LoadTestDatabase(String jdbcUrl, String username, String password, AutoCloseable server) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.server = server;
+    }
+
+    static LoadTestDatabase start() throws IOException, SQLException {
+        LoadTestDatabase database = DockerClientFactory.instance().isDockerAvailable()
+                ? startContainer()
+                : startEmbedded();
+        try (Connection connection = database.connect()) {
+            ScriptUtils.executeSqlScript(connection, new FileSystemResource(INIT_SCRIPT));
+        }
+        return database;
+    }
+
+    private static LoadTestDatabase startContainer() {
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("loadtest")
+                .withUsername("loadtest")
+                .withPassword("loadtest");
+        container.start();
+        return new LoadTestDatabase(container.getJdbcUrl(), container.getUsername(), container.getPassword(),
+                container::stop);
+    }
+
+    private static LoadTestDatabase startEmbedded() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        return new LoadTestDatabase(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres", postgres);
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    /**
+     * The same database for R2DBC. JDBC-only query parameters are dropped.
+     */
+    String r2dbcUrl() {
+        int query = jdbcUrl.indexOf('?');
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length(), query < 0 ? jdbcUrl.length() : query);
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws Exception {
+        server.close();
+    }
+
+}
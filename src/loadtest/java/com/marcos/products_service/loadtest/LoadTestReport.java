@@ -0,0 +1,79 @@
+package com.marcos.products_service.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency percentiles, throughput and error rate per operation for one run.
+ * Latencies are recorded in microseconds.
+ */
+record LoadTestReport(List<Result> results, Duration elapsed) {
+
+    /**
+     * @param sent   requests sent, answered or not
+     * @param errors requests answered with a 4xx or 5xx, or not answered at all
+     */
+    record Result(ProductOperation operation, Histogram latencies, long sent, long errors) {
+
+        double errorRate() {
+            return sent == 0 ? 0 : (double) errors / sent;
+        }
+
+        Duration percentile(double percentile) {
+            return Duration.ofNanos(latencies.getValueAtPercentile(percentile) * 1000);
+        }
+
+    }
+
+    String format() {
+        StringBuilder table = new StringBuilder(String.format("%-10s %9s %9s %8s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Result result : results) {
+            Histogram latencies = result.latencies();
+            table.append(String.format("%-10s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                    result.operation().name().toLowerCase(),
+                    result.sent(),
+                    result.sent() / (elapsed.toNanos() / 1e9),
+                    result.errorRate() * 100,
+                    latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getValueAtPercentile(99.9) / 1000.0,
+                    latencies.getMaxValue() / 1000.0));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Every budget or error rate the run exceeded, one line each.
+     */
+    List<String> violations(LoadTestSettings settings) {
+        List<String> violations = new ArrayList<>();
+        for (Result result : results) {
+            if (result.errorRate() > settings.maxErrorRate()) {
+                violations.add("%s error rate %.2f%% over %.2f%%".formatted(result.operation(),
+                        result.errorRate() * 100, settings.maxErrorRate() * 100));
+            }
+            LoadTestSettings.Budget budget = settings.budgets().get(result.operation());
+            if (budget == null || result.sent() == 0) {
+                continue;
+            }
+            check(violations, result, "p50", 50, budget.p50());
+            check(violations, result, "p99", 99, budget.p99());
+            check(violations, result, "p99.9", 99.9, budget.p999());
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, Result result, String name, double percentile,
+                              Duration budget) {
+        Duration measured = result.percentile(percentile);
+        if (budget != null && measured.compareTo(budget) > 0) {
+            violations.add("%s %s %d ms over budget of %d ms".formatted(result.operation(), name,
+                    measured.toMillis(), budget.toMillis()));
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.marcos.products_service.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bound from {@code loadtest.*}; defaults are in {@code application-loadtest.properties}
+ * and any of them can be overridden with a system property.
+ *
+ * @param products     products seeded before the run
+ * @param rate         requests per second, sent on schedule whether or not
+ *                     earlier ones have answered
+ * @param warmup       how long to send load before measuring
+ * @param duration     how long to measure
+ * @param mix          relative weight of each operation
+ * @param budgets      latency ceilings per operation; unset percentiles are not checked
+ * @param maxErrorRate share of failed requests per operation that fails the run
+ */
+record LoadTestSettings(int products, int rate, Duration warmup, Duration duration,
+                        Map<ProductOperation, Integer> mix, Map<ProductOperation, Budget> budgets,
+                        double maxErrorRate) {
+
+    record Budget(Duration p50, Duration p99, Duration p999) {
+    }
+
+}
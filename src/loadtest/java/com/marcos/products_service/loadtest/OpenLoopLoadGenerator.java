@@ -0,0 +1,196 @@
+package com.marcos.products_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends a weighted mix of product requests at a fixed rate, on schedule
+ * whether or not earlier requests have answered. Latency is measured from
+ * when a request was due rather than when it was actually sent, so a
+ * stalled server shows up in the percentiles instead of slowing the load
+ * down (coordinated omission).
+ */
+final class OpenLoopLoadGenerator {
+
+    private static final String BASE_PATH = "/api/v1/products";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final ProductOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final IdPool ids;
+
+    OpenLoopLoadGenerator(URI baseUri, LoadTestSettings settings, long[] seededIds) {
+        this.baseUri = baseUri.resolve(BASE_PATH);
+        this.settings = settings;
+        this.operations = settings.mix().keySet().toArray(ProductOperation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+        this.ids = new IdPool(seededIds);
+    }
+
+    LoadTestReport run(Duration duration) throws InterruptedException {
+        Map<ProductOperation, Recorder> latencies = new EnumMap<>(ProductOperation.class);
+        Map<ProductOperation, LongAdder> sent = new EnumMap<>(ProductOperation.class);
+        Map<ProductOperation, LongAdder> errors = new EnumMap<>(ProductOperation.class);
+        for (ProductOperation operation : operations) {
+            latencies.put(operation, new Recorder(3));
+            sent.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        for (long due = start; due < end; due += intervalNanos) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            ProductOperation operation = nextOperation();
+            long scheduled = due;
+            sent.get(operation).increment();
+            inFlight.add(send(operation).handle((response, failure) -> {
+                if (failure == null) {
+                    latencies.get(operation).recordValue(
+                            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+                }
+                if (failure != null || response.statusCode() >= 400) {
+                    errors.get(operation).increment();
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)
+                .join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<LoadTestReport.Result> results = new ArrayList<>();
+        for (ProductOperation operation : operations) {
+            results.add(new LoadTestReport.Result(operation, latencies.get(operation).getIntervalHistogram(),
+                    sent.get(operation).sum(), errors.get(operation).sum()));
+        }
+        return new LoadTestReport(results, elapsed);
+    }
+
+    private ProductOperation nextOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(ProductOperation operation) {
+        return switch (operation) {
+            case GET_BY_ID -> send(HttpRequest.newBuilder(byId(ids.random())).GET());
+            case LIST -> send(HttpRequest.newBuilder(URI.create(baseUri + "?limit=20")).GET());
+            case CREATE -> send(HttpRequest.newBuilder(baseUri).POST(productBody()))
+                    .thenApply(this::rememberCreated);
+            case UPDATE -> send(HttpRequest.newBuilder(byId(ids.random())).PUT(productBody()));
+            // Taken out of the pool first, so no later request picks a product that is going away
+            case DELETE -> send(HttpRequest.newBuilder(byId(ids.remove())).DELETE());
+        };
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest.Builder request) {
+        return client.sendAsync(request
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI byId(long id) {
+        return URI.create(baseUri + "/" + id);
+    }
+
+    private HttpRequest.BodyPublisher productBody() {
+        int n = ThreadLocalRandom.current().nextInt(1_000_000);
+        return HttpRequest.BodyPublishers.ofString(
+                "{\"name\":\"Load test product " + n + "\",\"price\":" + (10 + n % 1000) + ".5,"
+                        + "\"description\":\"Created by the load test\"}");
+    }
+
+    private HttpResponse<byte[]> rememberCreated(HttpResponse<byte[]> response) {
+        if (response.statusCode() == 201) {
+            try {
+                JsonNode id = objectMapper.readTree(response.body()).at("/data/attributes/id");
+                ids.add(id.asLong());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Ids of the products that currently exist, picked at random.
+     */
+    private static final class IdPool {
+
+        private long[] ids;
+        private int size;
+
+        IdPool(long[] seeded) {
+            this.ids = seeded.clone();
+            this.size = seeded.length;
+        }
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(16, size * 2));
+            }
+            ids[size++] = id;
+        }
+
+        synchronized long random() {
+            return ids[ThreadLocalRandom.current().nextInt(size)];
+        }
+
+        synchronized long remove() {
+            int slot = ThreadLocalRandom.current().nextInt(size);
+            long id = ids[slot];
+            ids[slot] = ids[--size];
+            return id;
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.marcos.products_service.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the whole service over HTTP with {@link OpenLoopLoadGenerator} and
+ * fails when a latency budget or the error rate is exceeded. Run with
+ * {@code mvn -Ploadtest verify}; settings are in {@code application-loadtest.properties}.
+ * Add {@code -Dspring.profiles.include=virtual-threads} (on Java 21+) to
+ * compare thread models, e.g. under {@code -Dloadtest.db-latency=100ms}, or run
+ * {@link ReactiveProductLoadTest} for the WebFlux stack.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(InjectedDatabaseLatency.class)
+class ProductLoadTest {
+
+    private static LoadTestDatabase database;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        database = LoadTestDatabase.start();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", database::jdbcUrl);
+        registry.add("spring.datasource.username", database::username);
+        registry.add("spring.datasource.password", database::password);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.r2dbc.url", database::r2dbcUrl);
+        registry.add("spring.r2dbc.username", database::username);
+        registry.add("spring.r2dbc.password", database::password);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void productEndpointsShouldStayWithinBudget() throws Exception {
+        LoadTestSettings settings = Binder.get(environment).bind("loadtest", LoadTestSettings.class).get();
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(
+                URI.create("http://localhost:" + port), settings, seed(settings.products()));
+
+        generator.run(settings.warmup());
+        LoadTestReport report = generator.run(settings.duration());
+
+        System.out.printf("%nLoad test: %d req/s for %s over %d products, %s threads, %s extra database latency%n%s%n",
+                settings.rate(), settings.duration(), settings.products(),
+                threads(),
+                environment.getProperty("loadtest.db-latency", "no"), report.format());
+        List<String> violations = report.violations(settings);
+        assertThat(violations).as("budget violations").isEmpty();
+    }
+
+    private String threads() {
+        if (environment.acceptsProfiles(Profiles.of("reactive"))) {
+            return "event-loop";
+        }
+        return Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform";
+    }
+
+    private static long[] seed(int products) throws Exception {
+        try (Connection connection = database.connect()) {
+            // Drop the sample rows from init.sql so exactly the seeded products exist
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE products");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("""
+                    INSERT INTO products (name, price, description)
+                    SELECT 'Product ' || md5(g::text), round((random() * 2000)::numeric, 2) + 0.01, 'Seeded row ' || g
+                      FROM generate_series(1, ?) g""")) {
+                insert.setInt(1, products);
+                insert.executeUpdate();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE products");
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT id FROM products")) {
+                long[] ids = new long[products];
+                int count = 0;
+                while (rows.next()) {
+                    ids[count++] = rows.getLong(1);
+                }
+                return Arrays.copyOf(ids, count);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.marcos.products_service.loadtest;
+
+/**
+ * The requests a load test mixes, named in {@code loadtest.mix} and
+ * {@code loadtest.budgets} in kebab case (e.g. {@code get-by-id}).
+ */
+enum ProductOperation {
+    GET_BY_ID,
+    LIST,
+    CREATE,
+    UPDATE,
+    DELETE
+}
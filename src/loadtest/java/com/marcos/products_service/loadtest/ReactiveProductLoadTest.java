@@ -0,0 +1,17 @@
+package com.marcos.products_service.loadtest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link ProductLoadTest} against the WebFlux and R2DBC stack, with the same
+ * settings and budgets: {@code mvn -Ploadtest verify -Dtest=ReactiveProductLoadTest}.
+ * {@code loadtest.db-latency} only slows JDBC statements, so leave it at zero
+ * when comparing the two stacks.
+ */
+// The test context decides its web application type before profile files are read
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveProductLoadTest extends ProductLoadTest {
+}
@@ -3,13 +3,13 @@ package com.marcos.products_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.ComponentScan;
-import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.marcos.products_service")
-@EnableJpaRepositories(basePackages = "com.marcos.products_service")
 @EntityScan(basePackages = "com.marcos.products_service")
+@ConfigurationPropertiesScan(basePackages = "com.marcos.products_service")
 public class ProductsServiceApplication {
 
     public static void main(String[] args) {
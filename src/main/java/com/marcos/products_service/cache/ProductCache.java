@@ -0,0 +1,182 @@
+package com.marcos.products_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.marcos.products_service.config.ProductCacheProperties;
+import com.marcos.products_service.config.ProductReplicaProperties;
+import com.marcos.products_service.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of products by id. Misses are cached too, as
+ * empty optionals with a shorter lifetime, so repeated lookups of missing
+ * ids don't reach the database. Cached products are shared between
+ * requests and must be treated as read-only.
+ *
+ * <p>Committed writes reach the cache through {@link ProductChangeNotifier}:
+ * this node's own writes replace the cached product, everything else just
+ * evicts it.</p>
+ *
+ * <p>With read replicas, a load right after a change may still see the old
+ * row. Loads of a product changed within the replicas' stale read window
+ * are returned but not cached, so such a read is not served for a whole
+ * TTL.</p>
+ */
+@Component
+public class ProductCache implements ProductChangeListener {
+
+    static final String CACHE_NAME = "products";
+
+    private final Cache<Long, Optional<Product>> cache;
+    private final ProductRequestCoalescer coalescer;
+    // Bumped before every change is applied, so a load that overlapped one can tell
+    private final AtomicLong changes = new AtomicLong();
+    // Ids changed within the stale read window, null when reads never go to a replica
+    private final Cache<Long, Boolean> recentlyChanged;
+    private final long staleReadWindowNanos;
+    private volatile long everythingChangedAt;
+
+    public ProductCache(ProductCacheProperties properties, ProductRequestCoalescer coalescer,
+                        MeterRegistry meterRegistry, ProductReplicaProperties replicaProperties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(Expiry.<Long, Optional<Product>>writing((id, product) ->
+                        product.isPresent() ? properties.ttl() : properties.negativeTtl()))
+                .recordStats()
+                .build();
+        this.coalescer = coalescer;
+        Duration staleReadWindow = replicaProperties.staleReadWindow();
+        this.staleReadWindowNanos = staleReadWindow.toNanos();
+        this.recentlyChanged = staleReadWindow.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(staleReadWindow)
+                .build();
+        this.everythingChangedAt = System.nanoTime() - staleReadWindowNanos;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached product or loads it. Callers missing the same id at
+     * once share one {@code loader} call.
+     *
+     * <p>The loader runs outside Caffeine's compute lock: it usually waits
+     * for a pooled connection, and a committing transaction that holds one
+     * must still be able to update the entry (or its hash bin) meanwhile.</p>
+     */
+    public Optional<Product> get(Long id, Function<Long, Optional<Product>> loader) {
+        Optional<Product> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        return coalescer.execute("product", id, () -> {
+            long seen = changes.get();
+            Optional<Product> product = loader.apply(id);
+            putLoaded(id, product, seen);
+            return product;
+        });
+    }
+
+    /**
+     * Looks up every id at once: cached ids (found or not) are answered from
+     * the cache and all the others are handed to {@code loader} together.
+     * Ids the loader doesn't return are cached as missing.
+     */
+    public Map<Long, Optional<Product>> getAll(Collection<Long> ids,
+                                               Function<Collection<Long>, List<Product>> loader) {
+        Map<Long, Optional<Product>> found = new HashMap<>(cache.getAllPresent(ids));
+        List<Long> misses = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .distinct()
+                .toList();
+        if (misses.isEmpty()) {
+            return found;
+        }
+        long seen = changes.get();
+        Map<Long, Optional<Product>> loaded = new HashMap<>();
+        misses.forEach(id -> loaded.put(id, Optional.empty()));
+        loader.apply(misses).forEach(product -> loaded.put(product.getId(), Optional.of(product)));
+        loaded.forEach((id, product) -> putLoaded(id, product, seen));
+        found.putAll(loaded);
+        return found;
+    }
+
+    /**
+     * Answers from the cache when the product (or its absence) is cached and
+     * asks {@code loader} otherwise, without caching its answer.
+     */
+    public Optional<Long> getVersion(Long id, Function<Long, Optional<Long>> loader) {
+        Optional<Product> cached = cache.getIfPresent(id);
+        return cached != null ? cached.map(Product::getVersion) : loader.apply(id);
+    }
+
+    @Override
+    public void productChanged(Long id, Product product) {
+        changes.incrementAndGet();
+        recordChange(id);
+        if (product != null) {
+            cache.put(id, Optional.of(product));
+        } else {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Drops every cached "not found" entry, since the ids of bulk inserted
+     * products are not necessarily known individually.
+     */
+    @Override
+    public void productsInserted(List<Product> products) {
+        changes.incrementAndGet();
+        if (products.isEmpty()) {
+            everythingChangedAt = System.nanoTime();
+        }
+        products.forEach(product -> recordChange(product.getId()));
+        cache.asMap().values().removeIf(Optional::isEmpty);
+    }
+
+    @Override
+    public void changesMissed() {
+        changes.incrementAndGet();
+        everythingChangedAt = System.nanoTime();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Caches a loaded value unless something is cached already. If a change
+     * was applied since the load started, the value may predate it and is
+     * dropped again (unless a newer value replaced it meanwhile). Nothing is
+     * cached for a product a replica may not have caught up with yet.
+     */
+    private void putLoaded(Long id, Optional<Product> product, long seen) {
+        if (mayBeStale(id)) {
+            return;
+        }
+        cache.asMap().putIfAbsent(id, product);
+        if (changes.get() != seen) {
+            cache.asMap().computeIfPresent(id, (key, cached) -> cached == product ? null : cached);
+        }
+    }
+
+    private void recordChange(Long id) {
+        if (recentlyChanged != null) {
+            recentlyChanged.put(id, Boolean.TRUE);
+        }
+    }
+
+    private boolean mayBeStale(Long id) {
+        return recentlyChanged != null && (recentlyChanged.getIfPresent(id) != null
+                || System.nanoTime() - everythingChangedAt < staleReadWindowNanos);
+    }
+
+}
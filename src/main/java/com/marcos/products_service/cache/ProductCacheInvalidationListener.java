@@ -0,0 +1,164 @@
+package com.marcos.products_service.cache;
+
+import com.marcos.products_service.config.ProductCacheInvalidationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Applies other nodes' product changes to the local
+ * {@link ProductChangeListener}s, such as the {@link ProductCache}.
+ *
+ * <p>Runs on its own thread with a dedicated connection outside the Hikari
+ * pool, since LISTEN ties the session up for as long as the node lives.
+ * Notifications sent while the connection was down are lost, so every
+ * (re)connect starts by telling the listeners that changes were missed.</p>
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "products.cache.invalidation", name = "enabled", havingValue = "true")
+public class ProductCacheInvalidationListener implements SmartLifecycle {
+
+    private final List<ProductChangeListener> listeners;
+    private final ProductChangeNotifier notifier;
+    private final ProductCacheInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final Counter received;
+    private final Counter reconnects;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ProductCacheInvalidationListener(List<ProductChangeListener> listeners,
+                                            ProductChangeNotifier notifier,
+                                            ProductCacheInvalidationProperties properties,
+                                            DataSourceProperties dataSourceProperties,
+                                            MeterRegistry meterRegistry) {
+        this.listeners = listeners;
+        this.notifier = notifier;
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.received = Counter.builder("products.cache.invalidations")
+                .description("Cache invalidations received from other nodes")
+                .register(meterRegistry);
+        this.reconnects = Counter.builder("products.cache.invalidation.connects")
+                .description("LISTEN connections opened, each followed by a full resync of local copies")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "product-cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                }
+                reconnects.increment();
+                listeners.forEach(ProductChangeListener::changesMissed);
+                log.info("Listening for product cache invalidations on channel '{}'", properties.channel());
+                poll(connection.unwrap(PGConnection.class), connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Product cache invalidation listener disconnected, retrying in {}: {}",
+                            properties.reconnectDelay(), e.getMessage());
+                    listeners.forEach(ProductChangeListener::changesMissed);
+                    sleep();
+                }
+            }
+        }
+    }
+
+    private void poll(PGConnection pgConnection, Connection connection) throws SQLException {
+        int timeoutMillis = (int) properties.pollTimeout().toMillis();
+        long checkIntervalNanos = properties.checkInterval().toNanos();
+        long lastCheck = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    apply(notification.getParameter());
+                }
+                lastCheck = System.nanoTime();
+            } else if (System.nanoTime() - lastCheck > checkIntervalNanos) {
+                // A silently dropped connection would otherwise just look idle
+                if (!connection.isValid((int) properties.reconnectDelay().toSeconds() + 1)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                lastCheck = System.nanoTime();
+            }
+        }
+    }
+
+    void apply(String payload) {
+        String[] parts = ProductChangeNotifier.parse(payload);
+        if (parts.length != 2 || parts[0].equals(notifier.getNodeId())) {
+            return;
+        }
+        received.increment();
+        if (ProductChangeNotifier.MISSING.equals(parts[1])) {
+            listeners.forEach(listener -> listener.productsInserted(List.of()));
+            return;
+        }
+        Long id;
+        try {
+            id = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed product cache invalidation '{}'", payload);
+            return;
+        }
+        listeners.forEach(listener -> listener.productChanged(id, null));
+    }
+
+    private Connection connect() throws SQLException {
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("user", dataSourceProperties.determineUsername());
+        connectionProperties.setProperty("password", dataSourceProperties.determinePassword());
+        connectionProperties.setProperty("tcpKeepAlive", "true");
+        connectionProperties.setProperty("ApplicationName", "products-service cache invalidation");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(properties.reconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.marcos.products_service.cache;
+
+import com.marcos.products_service.model.Product;
+
+import java.util.List;
+
+/**
+ * Receives committed product changes, both from this node's writes and from
+ * other nodes through {@link ProductCacheInvalidationListener}. Implemented
+ * by everything that keeps a derived copy of the {@code products} table.
+ */
+public interface ProductChangeListener {
+
+    /**
+     * A single product was written. {@code product} is its committed state
+     * when this node made the change, or {@code null} when it was deleted or
+     * changed on another node and has to be read again if needed.
+     */
+    void productChanged(Long id, Product product);
+
+    /**
+     * This node deleted a product. Unlike a change known only by id, there is
+     * no row left to read again.
+     */
+    default void productDeleted(Long id) {
+        productChanged(id, null);
+    }
+
+    /**
+     * Products were inserted in bulk. {@code products} lists them when this
+     * node inserted them through JPA and is empty when their ids are unknown.
+     */
+    void productsInserted(List<Product> products);
+
+    /**
+     * Changes may have been lost, e.g. while the notification connection was
+     * down, so everything derived from the table must be dropped or rebuilt.
+     */
+    void changesMissed();
+
+}
@@ -0,0 +1,97 @@
+package com.marcos.products_service.cache;
+
+import com.marcos.products_service.config.ProductCacheInvalidationProperties;
+import com.marcos.products_service.model.Product;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Announces product writes to every {@link ProductChangeListener} on this
+ * node and to the other nodes.
+ *
+ * <p>Local listeners are called after the surrounding transaction commits,
+ * so a rolled back change never becomes visible and a concurrent read of the
+ * old row cannot outlive the new one. Other nodes are told with
+ * {@code pg_notify} on the current connection, which Postgres likewise only
+ * delivers on commit. Payloads are {@code <node>:<id>} for a changed product
+ * and {@code <node>:missing} after bulk inserts; listeners skip their own
+ * node.</p>
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class ProductChangeNotifier {
+
+    public static final String MISSING = "missing";
+    private static final String SEPARATOR = ":";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductCacheInvalidationProperties properties;
+    private final List<ProductChangeListener> listeners;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public void productSaved(Product product) {
+        afterCommit(listener -> listener.productChanged(product.getId(), product));
+        publish(String.valueOf(product.getId()));
+    }
+
+    public void productDeleted(Long id) {
+        afterCommit(listener -> listener.productDeleted(id));
+        publish(String.valueOf(id));
+    }
+
+    /**
+     * Announces a bulk insert. Pass the inserted products when they are at
+     * hand, or an empty list when only the fact of the insert is known.
+     */
+    public void productsInserted(List<Product> products) {
+        afterCommit(listener -> listener.productsInserted(products));
+        publish(MISSING);
+    }
+
+    private void afterCommit(Consumer<ProductChangeListener> change) {
+        Runnable action = () -> listeners.forEach(change);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void publish(String change) {
+        if (!properties.enabled()) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null,
+                properties.channel(), payload(nodeId, change));
+    }
+
+    /**
+     * The notification {@code nodeId} sends for {@code change}, a product id
+     * or {@link #MISSING}. Also used by writers that notify on their own.
+     */
+    public static String payload(String nodeId, String change) {
+        return nodeId + SEPARATOR + change;
+    }
+
+    static String[] parse(String payload) {
+        return payload.split(SEPARATOR, 2);
+    }
+
+}
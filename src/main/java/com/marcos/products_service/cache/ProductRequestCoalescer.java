@@ -0,0 +1,92 @@
+package com.marcos.products_service.cache;
+
+import com.marcos.products_service.replica.PrimaryReads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical read requests: while a call for a
+ * given operation and key is running, further callers with the same key
+ * wait for it and share its result instead of running their own query.
+ * Nothing is kept once the call completes, so this only collapses truly
+ * concurrent requests. A caller can still join a call that started before
+ * its own write committed, and get a result that doesn't include it.
+ *
+ * <p>Reads pinned to the primary with {@link PrimaryReads} only share calls
+ * with other pinned reads, never with one that may be running on a lagging
+ * replica.</p>
+ *
+ * <p>Shared results are handed to several callers and must be treated as
+ * read-only. Counted per operation as {@code products.requests.executed}
+ * and {@code products.requests.coalesced}.</p>
+ */
+@Component
+public class ProductRequestCoalescer {
+
+    static final String EXECUTED = "products.requests.executed";
+    static final String COALESCED = "products.requests.coalesced";
+
+    private final Map<Call, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executed = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalesced = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ProductRequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code call}, or joins the identical call already running. A
+     * failure is rethrown to every caller that joined it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> call) {
+        Call id = new Call(operation, key, PrimaryReads.isPinned());
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            counter(coalesced, COALESCED, operation).increment();
+            return (T) join(running);
+        }
+
+        counter(executed, EXECUTED, operation).increment();
+        try {
+            T result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String operation) {
+        return counters.computeIfAbsent(operation, tag -> Counter.builder(name)
+                .tag("operation", tag)
+                .register(meterRegistry));
+    }
+
+    private record Call(String operation, Object key, boolean pinned) {
+    }
+
+}
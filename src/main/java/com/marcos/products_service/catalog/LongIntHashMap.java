@@ -0,0 +1,130 @@
+package com.marcos.products_service.catalog;
+
+/**
+ * Open-addressing hash map from positive {@code long} keys to {@code int}
+ * values, stored in two flat arrays with linear probing. Unlike a
+ * {@code HashMap<Long, Integer>} it allocates nothing per entry: each one
+ * costs 12 bytes plus whatever headroom the load factor leaves.
+ *
+ * <p>Key {@code 0} marks an empty slot, so only positive keys are accepted.
+ * Not thread-safe.</p>
+ */
+final class LongIntHashMap {
+
+    static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max((int) (expectedSize / LOAD_FACTOR), 16) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int get(long key) {
+        int index = index(key);
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                return values[index];
+            }
+            if (current == EMPTY) {
+                return MISSING;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    void put(long key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Only positive keys are supported: " + key);
+        }
+        int index = index(key);
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                values[index] = value;
+                return;
+            }
+            if (current == EMPTY) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size >= resizeAt) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes {@code key} and shifts the rest of its probe chain back, so
+     * lookups never need tombstones.
+     */
+    int remove(long key) {
+        int index = index(key);
+        while (keys[index] != key) {
+            if (keys[index] == EMPTY) {
+                return MISSING;
+            }
+            index = (index + 1) & mask;
+        }
+        int removed = values[index];
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = index(keys[next]);
+            // Move the entry back unless its home slot lies cyclically within (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongIntHashMap[size=" + size + ", capacity=" + keys.length + "]";
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.marcos.products_service.catalog;
+
+import com.marcos.products_service.config.ProductAutocompleteProperties;
+import com.marcos.products_service.dto.ProductSuggestion;
+import com.marcos.products_service.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Name autocompletion from a {@link ProductNameIndex} of every product, so
+ * a request per keystroke never reaches the database. Matching ignores case
+ * and accents: "camara" completes to "Cámara Canon EOS R6". See
+ * {@link ProductReadModel} for how the index is loaded and kept current.
+ */
+@Component
+@Profile("!reactive")
+public class ProductAutocomplete extends ProductReadModel<ProductNameIndex> {
+
+    static final String SELECT_NAMES = "SELECT id, name, version FROM products";
+
+    private final int maxSuggestions;
+
+    public ProductAutocomplete(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ProductAutocompleteProperties properties, MeterRegistry meterRegistry) {
+        super("autocomplete index", jdbcTemplate, transactionManager, properties.fetchSize(),
+                Timer.builder("products.autocomplete.reloads")
+                        .description("Full snapshot loads of the autocomplete index")
+                        .register(meterRegistry));
+        this.maxSuggestions = properties.maxSuggestions();
+    }
+
+    /**
+     * Returns up to {@code limit} products whose name starts with
+     * {@code prefix}, ignoring case and accents, in alphabetical order of the
+     * folded names. The lookup itself allocates nothing; only the returned
+     * suggestions are new objects.
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        int[] slots = new int[Math.min(Math.max(limit, 1), maxSuggestions)];
+        Lock readLock = readLock();
+        readLock.lock();
+        try {
+            ProductNameIndex index = state();
+            int found = index.find(prefix, slots);
+            List<ProductSuggestion> suggestions = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                suggestions.add(new ProductSuggestion(index.id(slots[i]), index.name(slots[i])));
+            }
+            return suggestions;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    ProductNameIndex newState(int expectedSize) {
+        return new ProductNameIndex(expectedSize);
+    }
+
+    @Override
+    String snapshotQuery() {
+        return SELECT_NAMES;
+    }
+
+    @Override
+    void append(ProductNameIndex index, ResultSet row) throws SQLException {
+        index.append(row.getLong(1), row.getString(2), row.getLong(3));
+    }
+
+    @Override
+    void snapshotLoaded(ProductNameIndex index) {
+        index.sortOrder();
+    }
+
+    @Override
+    void upsert(ProductNameIndex index, Product product) {
+        index.upsert(product);
+    }
+
+    @Override
+    void remove(ProductNameIndex index, long id) {
+        index.remove(id);
+    }
+
+    @Override
+    int size(ProductNameIndex index) {
+        return index.size();
+    }
+
+}
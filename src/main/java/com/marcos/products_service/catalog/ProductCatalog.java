@@ -0,0 +1,97 @@
+package com.marcos.products_service.catalog;
+
+import com.marcos.products_service.config.ProductCatalogProperties;
+import com.marcos.products_service.dto.ProductCursor;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.model.Product;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replica of the whole {@code products} table held in memory, so reads never
+ * leave the JVM while Postgres stays the system of record for writes. See
+ * {@link ProductReadModel} for how it is loaded and kept current.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "products.catalog", name = "enabled", havingValue = "true")
+public class ProductCatalog extends ProductReadModel<ProductTable> {
+
+    static final String SELECT_ALL = "SELECT id, name, price, description, version FROM products ORDER BY id";
+
+    public ProductCatalog(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          ProductCatalogProperties properties, MeterRegistry meterRegistry) {
+        super("in-memory catalog", jdbcTemplate, transactionManager, properties.fetchSize(),
+                Timer.builder("products.catalog.reloads")
+                        .description("Full snapshot loads of the in-memory catalog")
+                        .register(meterRegistry));
+        Gauge.builder("products.catalog.size", this, ProductCatalog::size)
+                .description("Products held by the in-memory catalog")
+                .register(meterRegistry);
+    }
+
+    public Optional<Product> get(Long id) {
+        return Optional.ofNullable(read(table -> table.get(id)));
+    }
+
+    public Optional<Long> getVersion(Long id) {
+        long version = read(table -> table.version(id));
+        return version < 0 ? Optional.empty() : Optional.of(version);
+    }
+
+    public List<Product> page(ProductSort sort, ProductFilter filter, ProductCursor after, int limit) {
+        return read(table -> table.page(sort, filter, after, limit));
+    }
+
+    public List<Product> all() {
+        return read(table -> table.page(ProductSort.ID, null, Integer.MAX_VALUE));
+    }
+
+    @Override
+    ProductTable newState(int expectedSize) {
+        return new ProductTable(expectedSize);
+    }
+
+    @Override
+    String snapshotQuery() {
+        return SELECT_ALL;
+    }
+
+    @Override
+    void append(ProductTable table, ResultSet row) throws SQLException {
+        table.append(row.getLong(1), row.getString(2), row.getDouble(3), row.getString(4), row.getLong(5));
+    }
+
+    @Override
+    void snapshotLoaded(ProductTable table) {
+        table.sortOrders();
+    }
+
+    @Override
+    void upsert(ProductTable table, Product product) {
+        table.upsert(product);
+    }
+
+    @Override
+    void remove(ProductTable table, long id) {
+        table.remove(id);
+    }
+
+    @Override
+    int size(ProductTable table) {
+        return table.size();
+    }
+
+}
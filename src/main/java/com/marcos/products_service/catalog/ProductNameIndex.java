@@ -0,0 +1,285 @@
+package com.marcos.products_service.catalog;
+
+import com.marcos.products_service.model.Product;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Product names sorted by their folded form (lower case, accents stripped)
+ * for prefix lookups. Each name occupies one slot across parallel arrays,
+ * found by id through a {@link LongIntHashMap}, and {@code order} holds the
+ * slots sorted by folded name and then id.
+ *
+ * <p>{@link #find} folds the prefix one character at a time while binary
+ * searching, so a lookup allocates nothing. Folding maps each character to
+ * one character: "Cámara" folds to "camara", but "ß" stays "ß". Not
+ * thread-safe; {@link ProductAutocomplete} guards it with a read-write
+ * lock.</p>
+ */
+final class ProductNameIndex {
+
+    /**
+     * Folded form of every character below U+2000 (Latin, Greek, Cyrillic
+     * and the Latin Extended Additional block): the base character of its
+     * canonical decomposition, in lower case.
+     */
+    private static final char[] FOLDED = new char[0x2000];
+
+    static {
+        for (char c = 0; c < FOLDED.length; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            FOLDED[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+    }
+
+    private final LongIntHashMap slotsById;
+
+    private long[] ids;
+    private String[] names;
+    private String[] keys;
+    private long[] versions;
+    private int slotCount;
+
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private int[] order = new int[0];
+    private int size;
+
+    ProductNameIndex(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        slotsById = new LongIntHashMap(capacity);
+        ids = new long[capacity];
+        names = new String[capacity];
+        keys = new String[capacity];
+        versions = new long[capacity];
+    }
+
+    static String fold(CharSequence name) {
+        StringBuilder folded = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!isCombiningMark(c)) {
+                folded.append(fold(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Adds a name while loading a snapshot. The order is only built by
+     * {@link #sortOrder()} once every name is in.
+     */
+    void append(long id, String name, long version) {
+        int slot = allocate();
+        write(slot, id, name, version);
+        slotsById.put(id, slot);
+    }
+
+    void sortOrder() {
+        int[] all = new int[slotCount + (slotCount >> 3)];
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (names[slot] != null) {
+                all[live++] = slot;
+            }
+        }
+        mergeSort(all, new int[live], 0, live);
+        order = all;
+        size = live;
+    }
+
+    /**
+     * Inserts or renames a product. Older versions than the one held are
+     * ignored, since writes committed close together may arrive out of order.
+     */
+    void upsert(Product product) {
+        long id = product.getId();
+        int slot = slotsById.get(id);
+        if (slot == LongIntHashMap.MISSING) {
+            slot = allocate();
+            write(slot, id, product.getName(), product.getVersion());
+            slotsById.put(id, slot);
+            insert(slot);
+            return;
+        }
+        if (product.getVersion() < versions[slot]) {
+            return;
+        }
+        if (names[slot].equals(product.getName())) {
+            versions[slot] = product.getVersion();
+            return;
+        }
+        removeFromOrder(slot);
+        write(slot, id, product.getName(), product.getVersion());
+        insert(slot);
+    }
+
+    boolean remove(long id) {
+        int slot = slotsById.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        removeFromOrder(slot);
+        names[slot] = null;
+        keys[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    /**
+     * Writes into {@code slots} the first names, in folded order, that start
+     * with {@code prefix} once both are folded. Returns how many were found.
+     */
+    int find(CharSequence prefix, int[] slots) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compareToPrefix(keys[order[mid]], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int found = 0;
+        for (int i = low; i < size && found < slots.length; i++) {
+            if (compareToPrefix(keys[order[i]], prefix) != 0) {
+                break;
+            }
+            slots[found++] = order[i];
+        }
+        return found;
+    }
+
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    String name(int slot) {
+        return names[slot];
+    }
+
+    int size() {
+        return slotsById.size();
+    }
+
+    private static char fold(char c) {
+        return c < FOLDED.length ? FOLDED[c] : Character.toLowerCase(c);
+    }
+
+    private static boolean isCombiningMark(char c) {
+        return c >= '\u0300' && c <= '\u036F';
+    }
+
+    /**
+     * Compares {@code key} cut to the folded length of {@code prefix} with
+     * the folded {@code prefix}, so {@code 0} means the key starts with it.
+     */
+    private static int compareToPrefix(String key, CharSequence prefix) {
+        int position = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (isCombiningMark(c)) {
+                continue;
+            }
+            if (position == key.length()) {
+                return -1;
+            }
+            int comparison = key.charAt(position++) - fold(c);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private void write(int slot, long id, String name, long version) {
+        ids[slot] = id;
+        names[slot] = name;
+        keys[slot] = fold(name);
+        versions[slot] = version;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void insert(int slot) {
+        int at = -(search(slot) + 1);
+        if (size == order.length) {
+            order = Arrays.copyOf(order, Math.max(16, size + (size >> 1)));
+        }
+        System.arraycopy(order, at, order, at + 1, size - at);
+        order[at] = slot;
+        size++;
+    }
+
+    private void removeFromOrder(int slot) {
+        int at = search(slot);
+        if (at < 0) {
+            return;
+        }
+        System.arraycopy(order, at + 1, order, at, size - at - 1);
+        size--;
+    }
+
+    private int search(int slot) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compare(order[mid], slot);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int compare(int a, int b) {
+        int comparison = keys[a].compareTo(keys[b]);
+        return comparison != 0 ? comparison : Long.compare(ids[a], ids[b]);
+    }
+
+    private void mergeSort(int[] values, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(values, buffer, from, mid);
+        mergeSort(values, buffer, mid, to);
+        if (compare(values[mid - 1], values[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(values, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && compare(buffer[left], buffer[right]) <= 0)) {
+                values[i] = buffer[left++];
+            } else {
+                values[i] = buffer[right++];
+            }
+        }
+    }
+
+}
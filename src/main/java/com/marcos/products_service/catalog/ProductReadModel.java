@@ -0,0 +1,264 @@
+package com.marcos.products_service.catalog;
+
+import com.marcos.products_service.cache.ProductChangeListener;
+import com.marcos.products_service.model.Product;
+import com.marcos.products_service.replica.PrimaryReads;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A structure {@code S} derived from the {@code products} table and held in
+ * memory, while Postgres stays the system of record for writes.
+ *
+ * <p>{@code S} is loaded from a snapshot before the node starts serving and
+ * then kept current through {@link ProductChangeListener}: this node's own
+ * writes are applied as they commit, other nodes' changes are re-read by id,
+ * and bulk inserts or a lost notification connection trigger a background
+ * reload. Changes that arrive while a reload is running are re-read once the
+ * new snapshot is in place, so none are lost in the swap.</p>
+ *
+ * <p>{@code S} itself needn't be thread-safe: it is only read under the read
+ * lock and only changed under the write lock.</p>
+ */
+@Slf4j
+abstract class ProductReadModel<S> implements ProductChangeListener, SmartLifecycle {
+
+    static final String SELECT_BY_ID = "SELECT id, name, price, description, version FROM products WHERE id = ?";
+
+    private final String name;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final int fetchSize;
+    private final Timer reloads;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService reloader;
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    private S state;
+    private volatile Set<Long> changedDuringReload;
+    private volatile boolean running;
+
+    ProductReadModel(String name, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                     int fetchSize, Timer reloads) {
+        this.name = name;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.reloads = reloads;
+        this.reloader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name.replace(' ', '-') + "-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.state = newState(0);
+    }
+
+    /**
+     * Creates an empty structure to load a snapshot into. Also called from
+     * the constructor, so it must not rely on subclass fields.
+     */
+    abstract S newState(int expectedSize);
+
+    /**
+     * Query returning every row a snapshot needs.
+     */
+    abstract String snapshotQuery();
+
+    /**
+     * Adds the current row of {@link #snapshotQuery()} to a snapshot being loaded.
+     */
+    abstract void append(S state, ResultSet row) throws SQLException;
+
+    /**
+     * Called once every row of a snapshot is in, before it replaces the current one.
+     */
+    abstract void snapshotLoaded(S state);
+
+    abstract void upsert(S state, Product product);
+
+    abstract void remove(S state, long id);
+
+    abstract int size(S state);
+
+    public int size() {
+        return read(current -> size(current));
+    }
+
+    @Override
+    public void productChanged(Long id, Product product) {
+        recordChange(id);
+        if (product != null) {
+            write(current -> upsert(current, product));
+        } else {
+            refresh(id);
+        }
+    }
+
+    @Override
+    public void productDeleted(Long id) {
+        recordChange(id);
+        write(current -> remove(current, id));
+    }
+
+    @Override
+    public void productsInserted(List<Product> products) {
+        if (products.isEmpty()) {
+            scheduleReload();
+            return;
+        }
+        products.forEach(product -> recordChange(product.getId()));
+        write(current -> products.forEach(product -> upsert(current, product)));
+    }
+
+    @Override
+    public void changesMissed() {
+        scheduleReload();
+    }
+
+    /**
+     * Loads the first snapshot before the web server starts accepting requests.
+     */
+    @Override
+    public void start() {
+        reload();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        reloader.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    <T> T read(Function<S, T> action) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return action.apply(state);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * The read lock, for lookups that avoid the lambda of {@link #read}.
+     * Only touch {@link #state()} while holding it.
+     */
+    Lock readLock() {
+        return lock.readLock();
+    }
+
+    S state() {
+        return state;
+    }
+
+    private void write(Consumer<S> action) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            action.accept(state);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void scheduleReload() {
+        if (reloadPending.compareAndSet(false, true)) {
+            reloader.execute(() -> {
+                reloadPending.set(false);
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    log.error("Reloading the {} failed, keeping the previous snapshot", name, e);
+                }
+            });
+        }
+    }
+
+    private void reload() {
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringReload = changed;
+        try {
+            S loaded = reloads.record((Supplier<S>) this::loadSnapshot);
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                state = loaded;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            changedDuringReload = null;
+        }
+        changed.forEach(this::refresh);
+        log.info("Loaded {} products into the {}, {} changed while loading", size(), name, changed.size());
+    }
+
+    private S loadSnapshot() {
+        S loaded = newState(size());
+        // Needs a transaction so the driver streams the rows through a cursor instead of buffering them all.
+        // Read from the primary: a lagging replica could miss changes whose notifications were already handled.
+        try (PrimaryReads.Pin pin = PrimaryReads.pin()) {
+            snapshotTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(snapshotQuery());
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (RowCallbackHandler) row -> append(loaded, row)));
+        }
+        snapshotLoaded(loaded);
+        return loaded;
+    }
+
+    private void refresh(Long id) {
+        List<Product> rows = jdbcTemplate.query(SELECT_BY_ID, (resultSet, rowNum) -> new Product(
+                resultSet.getLong(1), resultSet.getString(2), resultSet.getDouble(3), resultSet.getString(4),
+                resultSet.getLong(5)), id);
+        write(current -> {
+            if (rows.isEmpty()) {
+                remove(current, id);
+            } else {
+                upsert(current, rows.get(0));
+            }
+        });
+    }
+
+    private void recordChange(Long id) {
+        Set<Long> changed = changedDuringReload;
+        if (changed != null) {
+            changed.add(id);
+        }
+    }
+
+}
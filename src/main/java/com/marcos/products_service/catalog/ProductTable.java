@@ -0,0 +1,349 @@
+package com.marcos.products_service.catalog;
+
+import com.marcos.products_service.dto.ProductCursor;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column-oriented copy of the {@code products} table. Each product occupies
+ * one slot across parallel arrays, found through a {@link LongIntHashMap}
+ * keyed by id, so the only per-product objects are its strings. Every
+ * {@link ProductSort} has a sorted array of slots for keyset pagination.
+ *
+ * <p>{@link Product} instances are only built when a product is read. Not
+ * thread-safe; {@link ProductCatalog} guards it with a read-write lock.</p>
+ */
+final class ProductTable {
+
+    private final LongIntHashMap slotsById;
+    private final SlotOrder byId = new SlotOrder(ProductSort.ID);
+    private final SlotOrder byPrice = new SlotOrder(ProductSort.PRICE);
+    private final SlotOrder byName = new SlotOrder(ProductSort.NAME);
+    private final SlotOrder[] orders = {byId, byPrice, byName};
+
+    private long[] ids;
+    private double[] prices;
+    private String[] names;
+    private String[] descriptions;
+    private long[] versions;
+    private int slotCount;
+
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    ProductTable(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        slotsById = new LongIntHashMap(capacity);
+        ids = new long[capacity];
+        prices = new double[capacity];
+        names = new String[capacity];
+        descriptions = new String[capacity];
+        versions = new long[capacity];
+    }
+
+    /**
+     * Adds a row while loading a snapshot. The sort orders are only built by
+     * {@link #sortOrders()} once every row is in.
+     */
+    void append(long id, String name, double price, String description, long version) {
+        int slot = allocate();
+        write(slot, id, name, price, description, version);
+        slotsById.put(id, slot);
+    }
+
+    void sortOrders() {
+        for (SlotOrder order : orders) {
+            order.rebuild();
+        }
+    }
+
+    /**
+     * Inserts or replaces a product. Older versions than the one held are
+     * ignored, since writes committed close together may arrive out of order.
+     */
+    void upsert(Product product) {
+        long id = product.getId();
+        long version = product.getVersion();
+        int slot = slotsById.get(id);
+        if (slot == LongIntHashMap.MISSING) {
+            slot = allocate();
+            write(slot, id, product.getName(), product.getPrice(), product.getDescription(), version);
+            slotsById.put(id, slot);
+            for (SlotOrder order : orders) {
+                order.insert(slot);
+            }
+            return;
+        }
+        if (version < versions[slot]) {
+            return;
+        }
+        boolean priceChanged = Double.compare(prices[slot], product.getPrice()) != 0;
+        boolean nameChanged = !names[slot].equals(product.getName());
+        if (priceChanged) {
+            byPrice.remove(slot);
+        }
+        if (nameChanged) {
+            byName.remove(slot);
+        }
+        write(slot, id, product.getName(), product.getPrice(), product.getDescription(), version);
+        if (priceChanged) {
+            byPrice.insert(slot);
+        }
+        if (nameChanged) {
+            byName.insert(slot);
+        }
+    }
+
+    boolean remove(long id) {
+        int slot = slotsById.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        for (SlotOrder order : orders) {
+            order.remove(slot);
+        }
+        names[slot] = null;
+        descriptions[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    Product get(long id) {
+        int slot = slotsById.get(id);
+        return slot == LongIntHashMap.MISSING ? null : toProduct(slot);
+    }
+
+    /**
+     * Returns the product's version, or {@code -1} if it isn't held.
+     */
+    long version(long id) {
+        int slot = slotsById.get(id);
+        return slot == LongIntHashMap.MISSING ? -1 : versions[slot];
+    }
+
+    /**
+     * Returns up to {@code limit} products following {@code after} (or from
+     * the start when it is {@code null}) in {@code sort} order.
+     */
+    List<Product> page(ProductSort sort, ProductCursor after, int limit) {
+        return page(sort, ProductFilter.NONE, after, limit);
+    }
+
+    /**
+     * Like {@link #page(ProductSort, ProductCursor, int)}, skipping products
+     * that don't match {@code filter}. Sorted by price, the price bounds
+     * narrow the slots scanned the way they narrow the index range in the
+     * database; otherwise slots are scanned until the page is full.
+     */
+    List<Product> page(ProductSort sort, ProductFilter filter, ProductCursor after, int limit) {
+        SlotOrder order = order(sort);
+        int from = after == null ? 0 : order.seek(after);
+        boolean priceBounded = sort == ProductSort.PRICE;
+        if (priceBounded && filter.minPrice() != null) {
+            from = Math.max(from, order.seekPrice(filter.minPrice()));
+        }
+        List<Product> products = new ArrayList<>((int) Math.max(Math.min((long) limit, order.size - from), 0));
+        for (int i = from; i < order.size && products.size() < limit; i++) {
+            int slot = order.slots[i];
+            if (priceBounded && filter.maxPrice() != null && prices[slot] > filter.maxPrice()) {
+                break;
+            }
+            if (filter.matches(prices[slot], names[slot])) {
+                products.add(toProduct(slot));
+            }
+        }
+        return products;
+    }
+
+    int size() {
+        return slotsById.size();
+    }
+
+    private Product toProduct(int slot) {
+        return new Product(ids[slot], names[slot], prices[slot], descriptions[slot], versions[slot]);
+    }
+
+    private void write(int slot, long id, String name, double price, String description, long version) {
+        ids[slot] = id;
+        names[slot] = name;
+        prices[slot] = price;
+        descriptions[slot] = description;
+        versions[slot] = version;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        return slotCount++;
+    }
+
+    private SlotOrder order(ProductSort sort) {
+        return switch (sort) {
+            case ID -> byId;
+            case PRICE -> byPrice;
+            case NAME -> byName;
+        };
+    }
+
+    /**
+     * Slots sorted by a {@link ProductSort}'s key with the id as tie-breaker,
+     * matching the database ordering. Names compare by UTF-16 code unit,
+     * which is the "C" collation rather than the database default.
+     */
+    private final class SlotOrder {
+
+        private final ProductSort sort;
+        private int[] slots = new int[0];
+        private int size;
+
+        private SlotOrder(ProductSort sort) {
+            this.sort = sort;
+        }
+
+        void rebuild() {
+            int count = slotCount;
+            int[] all = new int[count + (count >> 3)];
+            int live = 0;
+            for (int slot = 0; slot < count; slot++) {
+                if (names[slot] != null) {
+                    all[live++] = slot;
+                }
+            }
+            int[] buffer = new int[live];
+            mergeSort(all, buffer, 0, live);
+            slots = all;
+            size = live;
+        }
+
+        void insert(int slot) {
+            int at = -(search(slot) + 1);
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(16, size + (size >> 1)));
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int at = search(slot);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+            size--;
+        }
+
+        /**
+         * Position of the first slot sorting after {@code cursor}.
+         */
+        int seek(ProductCursor cursor) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (compareToCursor(slots[mid], cursor) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Position of the first slot priced at least {@code minPrice}; only
+         * meaningful for the price order.
+         */
+        int seekPrice(double minPrice) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (prices[slots[mid]] < minPrice) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private int search(int slot) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int comparison = compare(slots[mid], slot);
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private int compare(int a, int b) {
+            int comparison = switch (sort) {
+                case ID -> 0;
+                case PRICE -> Double.compare(prices[a], prices[b]);
+                case NAME -> names[a].compareTo(names[b]);
+            };
+            return comparison != 0 ? comparison : Long.compare(ids[a], ids[b]);
+        }
+
+        private int compareToCursor(int slot, ProductCursor cursor) {
+            int comparison = switch (sort) {
+                case ID -> 0;
+                case PRICE -> Double.compare(prices[slot], cursor.priceValue());
+                case NAME -> names[slot].compareTo(cursor.value());
+            };
+            return comparison != 0 ? comparison : Long.compare(ids[slot], cursor.id());
+        }
+
+        private void mergeSort(int[] values, int[] buffer, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(values, buffer, from, mid);
+            mergeSort(values, buffer, mid, to);
+            // Snapshots arrive in id order, so whole runs are often already in place
+            if (compare(values[mid - 1], values[mid]) <= 0) {
+                return;
+            }
+            System.arraycopy(values, from, buffer, from, to - from);
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < mid && compare(buffer[left], buffer[right]) <= 0)) {
+                    values[i] = buffer[left++];
+                } else {
+                    values[i] = buffer[right++];
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.marcos.products_service.config;
+
+import com.marcos.products_service.limit.AimdConcurrencyLimit;
+import com.marcos.products_service.limit.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the product API behind an {@link AimdConcurrencyLimit}. Actuator and
+ * API docs are left out so health checks keep answering under load.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "products.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ProductConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitConfig(ProductConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(new AimdConcurrencyLimit(properties), meterRegistry))
+                .addPathPatterns("/api/**");
+    }
+
+}
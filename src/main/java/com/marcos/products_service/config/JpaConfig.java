@@ -0,0 +1,16 @@
+package com.marcos.products_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA repositories for the servlet stack. With the {@code reactive} profile
+ * Spring Boot sets up R2DBC instead of a {@code DataSource}, so there is no
+ * entity manager to build them on.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableJpaRepositories(basePackages = "com.marcos.products_service")
+public class JpaConfig {
+}
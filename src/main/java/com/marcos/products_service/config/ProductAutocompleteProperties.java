@@ -0,0 +1,16 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * In-memory prefix index behind name autocompletion.
+ *
+ * @param fetchSize      rows per round trip while loading the snapshot
+ * @param maxSuggestions most suggestions returned for one prefix
+ */
+@ConfigurationProperties(prefix = "products.autocomplete")
+public record ProductAutocompleteProperties(
+        @DefaultValue("10000") int fetchSize,
+        @DefaultValue("20") int maxSuggestions) {
+}
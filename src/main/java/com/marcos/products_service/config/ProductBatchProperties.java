@@ -0,0 +1,13 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param size number of rows sent per JDBC batch and flushed from the
+ *             persistence context at once. Keep it in line with
+ *             {@code hibernate.jdbc.batch_size}.
+ */
+@ConfigurationProperties(prefix = "products.batch")
+public record ProductBatchProperties(@DefaultValue("500") int size) {
+}
@@ -0,0 +1,24 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cross-node invalidation of {@code ProductCache} over Postgres LISTEN/NOTIFY.
+ *
+ * @param enabled        publish changes and listen for other nodes' changes
+ * @param channel        notification channel shared by every node
+ * @param pollTimeout    how long the listener blocks waiting for notifications
+ * @param checkInterval  how often an idle listener connection is validated
+ * @param reconnectDelay wait between reconnection attempts
+ */
+@ConfigurationProperties(prefix = "products.cache.invalidation")
+public record ProductCacheInvalidationProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("products_changed") String channel,
+        @DefaultValue("500ms") Duration pollTimeout,
+        @DefaultValue("30s") Duration checkInterval,
+        @DefaultValue("5s") Duration reconnectDelay) {
+}
@@ -0,0 +1,18 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maximumSize  entries kept per node before the least valuable ones are evicted
+ * @param ttl          lifetime of a cached product
+ * @param negativeTtl  lifetime of a cached "not found", kept short so new ids show up quickly
+ */
+@ConfigurationProperties(prefix = "products.cache")
+public record ProductCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("30s") Duration negativeTtl) {
+}
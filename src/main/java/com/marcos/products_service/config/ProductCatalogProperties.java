@@ -0,0 +1,16 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * In-memory read model of the whole catalog.
+ *
+ * @param enabled   serve every read from memory instead of the database
+ * @param fetchSize rows per round trip while loading the snapshot
+ */
+@ConfigurationProperties(prefix = "products.catalog")
+public record ProductCatalogProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int fetchSize) {
+}
@@ -0,0 +1,26 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive limit on the product API requests handled at once.
+ *
+ * @param enabled          shed requests over the limit with {@code 429 Too Many Requests}
+ * @param initialLimit     limit before any request has completed
+ * @param minLimit         the limit never backs off below this
+ * @param maxLimit         the limit never grows past this
+ * @param latencyThreshold a request taking longer than this counts as a sign of overload
+ * @param backoffRatio     what the limit is multiplied by on overload
+ */
+@ConfigurationProperties(prefix = "products.concurrency-limit")
+public record ProductConcurrencyLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("1s") Duration latencyThreshold,
+        @DefaultValue("0.9") double backoffRatio) {
+}
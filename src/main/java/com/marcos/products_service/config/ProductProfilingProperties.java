@@ -0,0 +1,29 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * On-demand Java Flight Recorder sessions through the {@code jfr} actuator
+ * endpoint.
+ *
+ * @param enabled         register the endpoint
+ * @param defaultDuration length of a recording when none is asked for
+ * @param maxDuration     longest recording that may be asked for
+ * @param maxSize         disk a recording may use; older data is dropped past it
+ * @param directory       where the latest recording is kept, a temporary directory when unset
+ * @param topFrames       frames listed per category in a recording's summary
+ */
+@ConfigurationProperties(prefix = "products.profiling")
+public record ProductProfilingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("30s") Duration defaultDuration,
+        @DefaultValue("5m") Duration maxDuration,
+        @DefaultValue("100MB") DataSize maxSize,
+        Path directory,
+        @DefaultValue("20") int topFrames) {
+}
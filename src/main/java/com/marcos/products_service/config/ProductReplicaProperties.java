@@ -0,0 +1,43 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Postgres read replicas serving read-only transactions.
+ *
+ * @param enabled           route read-only transactions to the replicas
+ * @param urls              JDBC URL of each replica
+ * @param username          replica login, the primary's when unset
+ * @param password          replica password, the primary's when unset
+ * @param maximumPoolSize   connections pooled per replica
+ * @param connectionTimeout how long a read waits for a replica connection before trying the next one
+ * @param checkInterval     how often each replica's health and lag are checked
+ * @param maxLag            replication lag past which a replica is taken out of rotation
+ * @param pinAfterWrite     how long after a write its reads go to the primary; should cover
+ *                          {@code maxLag} plus {@code checkInterval}
+ */
+@ConfigurationProperties(prefix = "products.replicas")
+public record ProductReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<String> urls,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("2s") Duration connectionTimeout,
+        @DefaultValue("5s") Duration checkInterval,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("10s") Duration pinAfterWrite) {
+
+    /**
+     * How long after a change a replica may still return the old row, zero
+     * when reads never go to a replica.
+     */
+    public Duration staleReadWindow() {
+        return enabled ? pinAfterWrite : Duration.ZERO;
+    }
+
+}
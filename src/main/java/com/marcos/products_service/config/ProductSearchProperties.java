@@ -0,0 +1,17 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Full-text product search.
+ *
+ * @param config text search configuration used to parse queries. Must match
+ *               the one {@code products.search_vector} is generated with
+ *               (see {@code deployment/init.sql}), otherwise query terms are
+ *               stemmed differently from the indexed ones and stop matching
+ */
+@ConfigurationProperties(prefix = "products.search")
+public record ProductSearchProperties(
+        @DefaultValue("simple") String config) {
+}
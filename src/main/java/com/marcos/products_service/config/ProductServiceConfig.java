@@ -0,0 +1,31 @@
+package com.marcos.products_service.config;
+
+import com.marcos.products_service.metrics.OperationTimers;
+import com.marcos.products_service.service.InMemoryProductService;
+import com.marcos.products_service.service.ProductService;
+import com.marcos.products_service.service.ProductServiceImpl;
+import com.marcos.products_service.service.TimedProductService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The {@link ProductService} handed to the controller: the catalog-backed
+ * {@link InMemoryProductService} when it is enabled, the database-backed
+ * {@link ProductServiceImpl} otherwise, timed per operation either way.
+ */
+@Configuration
+@Profile("!reactive")
+public class ProductServiceConfig {
+
+    @Bean
+    @Primary
+    public ProductService productService(ObjectProvider<InMemoryProductService> inMemoryProductService,
+                                         ProductServiceImpl productServiceImpl, OperationTimers operationTimers) {
+        ProductService inMemory = inMemoryProductService.getIfAvailable();
+        return new TimedProductService(inMemory != null ? inMemory : productServiceImpl, operationTimers);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.marcos.products_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latency objectives for {@code ProductService} operations, reported by the
+ * {@code slo} actuator endpoint.
+ *
+ * @param operations objectives keyed by operation, i.e. the
+ *                   {@code ProductService} method name such as {@code getProductById}
+ */
+@ConfigurationProperties(prefix = "products.slo")
+public record ProductSloProperties(
+        @DefaultValue Map<String, Objectives> operations) {
+
+    public Objectives objectives(String operation) {
+        return operations.getOrDefault(operation, Objectives.NONE);
+    }
+
+    /**
+     * Upper bounds for the operation's latency percentiles; unset ones are
+     * not checked.
+     */
+    public record Objectives(Duration p50, Duration p99, Duration p999) {
+
+        static final Objectives NONE = new Objectives(null, null, null);
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.marcos.products_service.config;
+
+import com.marcos.products_service.metrics.QueryMetricsInterceptor;
+import com.marcos.products_service.metrics.QueryStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request database metrics for the servlet stack: the {@code DataSource}
+ * is wrapped in a proxy that counts statements and rows into the open
+ * {@link QueryStats} and times each statement as {@code products.db.query},
+ * and every handled request is recorded by the {@link QueryMetricsInterceptor}. Postgres {@code COPY} used by the import
+ * bypasses JDBC statements and is not counted.
+ */
+@Configuration
+@Profile("!reactive")
+public class QueryMetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryMetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    Timer statementTimer = Timer.builder("products.db.query")
+                            .description("JDBC statement execution time")
+                            .tag("datasource", beanName)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry.getObject());
+                    return QueryStats.countingProxy(dataSource, beanName, statementTimer);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryMetricsInterceptor(meterRegistry));
+    }
+
+}
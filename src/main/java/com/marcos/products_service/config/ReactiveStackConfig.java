@@ -0,0 +1,40 @@
+package com.marcos.products_service.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Server and database access for the {@code reactive} profile.
+ *
+ * <p>Tomcat is on the classpath for the servlet stack and Spring Boot would
+ * pick it for WebFlux too, so Netty is asked for explicitly. Statements go
+ * through the pooled {@link ConnectionFactory} Spring Boot builds from
+ * {@code spring.r2dbc.*}; transactions are demarcated with the
+ * {@link TransactionalOperator}.</p>
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveStackConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.marcos.products_service.config;
+
+import com.marcos.products_service.replica.ReadReplicas;
+import com.marcos.products_service.replica.ReadYourWritesInterceptor;
+import com.marcos.products_service.replica.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the primary {@code DataSource} in a {@link ReplicaRoutingDataSource},
+ * which sends read-only transactions to the {@link ReadReplicas} when
+ * {@code products.replicas.enabled} is set. The wrapping happens before
+ * {@link QueryMetricsConfig}'s, so statements are counted wherever they run.
+ */
+@Configuration
+@Profile("!reactive")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ProductReplicaProperties properties;
+
+    public ReplicaRoutingConfig(ProductReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    static BeanPostProcessor replicaRoutingDataSourcePostProcessor(
+            ObjectProvider<ProductReplicaProperties> properties,
+            ObjectProvider<DataSourceProperties> dataSourceProperties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RoutingPostProcessor(properties, dataSourceProperties, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.enabled()) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(properties.pinAfterWrite()))
+                    .addPathPatterns("/api/**");
+        }
+    }
+
+    private record RoutingPostProcessor(ObjectProvider<ProductReplicaProperties> properties,
+                                        ObjectProvider<DataSourceProperties> dataSourceProperties,
+                                        ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary) || bean instanceof ReplicaRoutingDataSource) {
+                return bean;
+            }
+            ProductReplicaProperties replicas = properties.getObject();
+            if (!replicas.enabled()) {
+                return new ReplicaRoutingDataSource(primary, null);
+            }
+            ReadReplicas readReplicas = ReadReplicas.create(primary, replicas, dataSourceProperties.getObject(),
+                    meterRegistry.getObject());
+            readReplicas.start(replicas.checkInterval());
+            return new ReplicaRoutingDataSource(primary, readReplicas);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+}
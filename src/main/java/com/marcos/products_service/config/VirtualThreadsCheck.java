@@ -0,0 +1,28 @@
+package com.marcos.products_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Boot quietly falls back to platform threads when virtual threads are
+ * asked for on a JVM older than 21; say so instead of running the
+ * {@code virtual-threads} profile's pool sizing on the wrong thread model.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("spring.threads.virtual.enabled")
+class VirtualThreadsCheck {
+
+    VirtualThreadsCheck(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Serving requests on virtual threads");
+        } else {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests run on Tomcat's platform thread pool", Runtime.version().feature());
+        }
+    }
+
+}
@@ -1,50 +1,242 @@
 package com.marcos.products_service.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductDocument;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductImportFormat;
+import com.marcos.products_service.dto.ProductImportReport;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSort;
 import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.exception.ProductVersionMismatchException;
 import com.marcos.products_service.model.Product;
+import com.marcos.products_service.service.ProductImportService;
 import com.marcos.products_service.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    static final String BASE_PATH = "/api/v1/products";
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createProduct(@Valid @RequestBody ProductDTO productDTO) {
+    public ResponseEntity<ProductDocument> createProduct(@Valid @RequestBody ProductDTO productDTO) {
         Product createdProduct = productService.createProduct(productDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(buildJsonApiResponse(createdProduct));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ProductETags.of(createdProduct))
+                .body(ProductDocument.of(createdProduct));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ProductDocument> createProducts(@RequestBody List<@Valid ProductDTO> productDTOs) {
+        List<Product> createdProducts = productService.createProducts(productDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProductDocument.of(createdProducts));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Map<String, Object>> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        ProductImportReport report = productImportService.importProducts(
+                body, ProductImportFormat.fromContentType(contentType));
+
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("imported", report.imported());
+        meta.put("rejected", report.rejected());
+        meta.put("elapsedMillis", report.elapsedMillis());
+        meta.put("rowsPerSecond", report.rowsPerSecond());
+        meta.put("rejections", report.rejections());
+        return ResponseEntity.ok(Map.of("meta", meta));
     }
 
+    /**
+     * Keyset-paginated listing, optionally restricted to a price range and
+     * to names containing {@code nameContains} (case-insensitive).
+     */
     @GetMapping
-    public ResponseEntity<List<Product>> getAll() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<ProductDocument> getAll(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String nameContains,
+            WebRequest request) {
+        ProductSort productSort = ProductSort.fromParameter(sort);
+        ProductFilter filter = new ProductFilter(minPrice, maxPrice, nameContains);
+        ProductPage page = productService.getProducts(productSort, filter, cursor, limit);
+        String eTag = ProductETags.of(page);
+        if (request.checkNotModified(eTag)) {
+            // 304 and ETag are already set, skip building the body
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(buildJsonApiCollectionResponse(page,
+                        pageCursor -> buildPageLink(productSort, filter, pageCursor, limit), cursor));
+    }
+
+    /**
+     * Fetches several products by id in one call, in the order asked for.
+     * Ids without a product are listed in {@code meta.missing}.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductDocument> getByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(ProductDocument.of(productService.getProductsByIds(ids)));
+    }
+
+    /**
+     * Same as {@code GET ?ids=}, for id lists too long for a URL. The body is
+     * a JSON array of ids.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<ProductDocument> lookup(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(ProductDocument.of(productService.getProductsByIds(ids)));
     }
 
+    /**
+     * Ranked full-text search over name and description, paginated like the
+     * listing with an opaque {@code cursor}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProductDocument> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+        ProductPage page = productService.searchProducts(q, cursor, limit);
+        String eTag = ProductETags.of(page);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(buildJsonApiCollectionResponse(page,
+                        pageCursor -> buildSearchLink(q, pageCursor, limit), cursor));
+    }
+
+    /**
+     * Completes a product name for a search box, one request per keystroke.
+     * Served from memory; matching ignores case and accents.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<Map<String, Object>> autocomplete(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<Map<String, Object>> data = productService.suggestProducts(q, limit).stream()
+                .map(suggestion -> Map.<String, Object>of(
+                        "type", "product",
+                        "attributes", Map.of("id", suggestion.id(), "name", suggestion.name())))
+                .toList();
+        return ResponseEntity.ok(Map.of("data", data));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        // Let the generator buffer fill up instead of flushing the response after every row
+        ObjectWriter writer = objectMapper.writerFor(Product.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                productService.exportProducts(product -> writeLine(writer, generator, product));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Revalidation with {@code If-None-Match} only reads the product's
+     * version; the product itself is loaded once it is known to have changed.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getById(@PathVariable Long id) {
+    public ResponseEntity<ProductDocument> getById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = productService.getProductVersion(id);
+            if (version.isPresent() && request.checkNotModified(ProductETags.ofVersion(version.get()))) {
+                return null;
+            }
+        }
         return productService.getProductById(id)
-                .map(product -> ResponseEntity.ok(buildJsonApiResponse(product)))
+                .map(product -> ResponseEntity.ok()
+                        .eTag(ProductETags.of(product))
+                        .body(ProductDocument.of(product)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * With {@code If-Match} the update only succeeds if the product is still
+     * at the named version, and fails with {@code 412} otherwise.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> update(
+    public ResponseEntity<ProductDocument> update(
             @PathVariable Long id,
-            @RequestBody ProductDTO productDTO) {
+            @Valid @RequestBody ProductDTO productDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Product updated = productService.updateProduct(id, productDTO);
-            return ResponseEntity.ok(buildJsonApiResponse(updated));
+            Product updated = isUnconditional(ifMatch)
+                    ? productService.updateProduct(id, productDTO)
+                    : productService.updateProduct(id, productDTO, expectedVersion(id, ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(ProductETags.of(updated))
+                    .body(ProductDocument.of(updated));
+        } catch (ProductNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Applies a JSON Merge Patch, changing only the attributes present in the
+     * document. Supports {@code If-Match} like {@code PUT}.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductDocument> patch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patchDocument,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductPatch patch = ProductPatch.from(patchDocument);
+        try {
+            Product patched = isUnconditional(ifMatch)
+                    ? productService.patchProduct(id, patch)
+                    : productService.patchProduct(id, patch, expectedVersion(id, ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(ProductETags.of(patched))
+                    .body(ProductDocument.of(patched));
         } catch (ProductNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -60,20 +252,65 @@ public class ProductController {
         }
     }
 
-    private Map<String, Object> buildJsonApiResponse(Product product) {
-        Map<String, Object> attributes = Map.of(
-                "id", product.getId(),
-                "name", product.getName(),
-                "price", product.getPrice(),
-                "description", product.getDescription()
-        );
+    static boolean isUnconditional(String ifMatch) {
+        return ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*");
+    }
 
-        Map<String, Object> data = Map.of(
-                "type", "product",
-                "attributes", attributes
-        );
+    private long expectedVersion(Long id, String ifMatch) {
+        List<Long> versions = ProductETags.versionsFromIfMatch(id, ifMatch);
+        if (versions.size() == 1) {
+            return versions.get(0);
+        }
+        Long current = productService.getProductVersion(id).orElseThrow(() -> new ProductNotFoundException(id));
+        if (!versions.contains(current)) {
+            throw new ProductVersionMismatchException(id);
+        }
+        return current;
+    }
 
-        return Map.of("data", data);
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, Product product) {
+        try {
+            writer.writeValue(generator, product);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ProductDocument buildJsonApiCollectionResponse(ProductPage page,
+                                                                  Function<String, String> pageLink,
+                                                                  String cursor) {
+        String next = page.hasNext() ? pageLink.apply(page.nextCursor()) : null;
+        return ProductDocument.of(page, pageLink.apply(cursor), next);
+    }
+
+    static String buildPageLink(ProductSort sort, ProductFilter filter, String cursor, int limit) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath(BASE_PATH)
+                .queryParam("sort", sort.getParameter())
+                .queryParam("limit", limit);
+        if (filter.minPrice() != null) {
+            builder.queryParam("minPrice", filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            builder.queryParam("maxPrice", filter.maxPrice());
+        }
+        if (filter.nameContains() != null) {
+            builder.queryParam("nameContains", filter.nameContains());
+        }
+        if (cursor != null) {
+            builder.queryParam("cursor", cursor);
+        }
+        return builder.toUriString();
+    }
+
+    static String buildSearchLink(String query, String cursor, int limit) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath(BASE_PATH + "/search")
+                .queryParam("q", query)
+                .queryParam("limit", limit);
+        if (cursor != null) {
+            builder.queryParam("cursor", cursor);
+        }
+        return builder.toUriString();
     }
 
 }
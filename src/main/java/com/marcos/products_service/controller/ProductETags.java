@@ -0,0 +1,70 @@
+package com.marcos.products_service.controller;
+
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.exception.ProductVersionMismatchException;
+import com.marcos.products_service.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Strong entity tags for product representations. A product's tag is its
+ * version; a page's tag hashes the ids and versions of its rows together
+ * with the next cursor, which is everything its body is built from.
+ */
+final class ProductETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ProductETags() {
+    }
+
+    static String of(Product product) {
+        return ofVersion(product.getVersion());
+    }
+
+    static String ofVersion(long version) {
+        return quote(Long.toString(version));
+    }
+
+    static String of(ProductPage page) {
+        long hash = 17;
+        for (Product product : page.products()) {
+            hash = 31 * hash + product.getId();
+            hash = 31 * hash + product.getVersion();
+        }
+        hash = 31 * hash + Objects.hashCode(page.nextCursor());
+        return quote(Long.toHexString(hash));
+    }
+
+    /**
+     * Reads the versions named by an {@code If-Match} header. Weak or
+     * malformed tags can never match under the strong comparison If-Match
+     * requires, so a header without a single usable tag fails the update.
+     */
+    static List<Long> versionsFromIfMatch(Long id, String ifMatch) {
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith(WEAK_PREFIX) || trimmed.length() < 3
+                    || trimmed.charAt(0) != '"' || trimmed.charAt(trimmed.length() - 1) != '"') {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(trimmed.substring(1, trimmed.length() - 1)));
+            } catch (NumberFormatException e) {
+                // Not one of ours, so it cannot match
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new ProductVersionMismatchException(id);
+        }
+        return versions;
+    }
+
+    private static String quote(String value) {
+        return '"' + value + '"';
+    }
+
+}
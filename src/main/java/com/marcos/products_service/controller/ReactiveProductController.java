@@ -0,0 +1,218 @@
+package com.marcos.products_service.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductDocument;
+import com.marcos.products_service.dto.ProductDocumentWriter;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductPageStream;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.exception.ProductVersionMismatchException;
+import com.marcos.products_service.model.Product;
+import com.marcos.products_service.service.ReactiveProductService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * The {@link ProductController} contract on WebFlux, served with the
+ * {@code reactive} profile. Listing pages are streamed: each product is
+ * written as soon as its row arrives, at the pace the client reads. Unlike
+ * on the servlet stack, pages carry no ETag, as it would need every row
+ * before the first byte could be sent. The CSV/NDJSON import and the
+ * autocomplete, both built on JDBC, are only served by the servlet stack.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ReactiveProductController {
+
+    private final ReactiveProductService productService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    public Mono<ResponseEntity<ProductDocument>> createProduct(@Valid @RequestBody ProductDTO productDTO) {
+        return productService.createProduct(productDTO)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED)
+                        .eTag(ProductETags.of(created))
+                        .body(ProductDocument.of(created)));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<ProductDocument>> createProducts(@RequestBody List<@Valid ProductDTO> productDTOs) {
+        return productService.createProducts(productDTOs)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(ProductDocument.of(created)));
+    }
+
+    /**
+     * Keyset-paginated listing with the same parameters as on the servlet
+     * stack, written while the page is still being read.
+     */
+    @GetMapping
+    public ResponseEntity<Flux<DataBuffer>> getAll(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String nameContains,
+            ServerHttpResponse response) {
+        ProductSort productSort = ProductSort.fromParameter(sort);
+        ProductFilter filter = new ProductFilter(minPrice, maxPrice, nameContains);
+        ProductPageStream page = productService.getProducts(productSort, filter, cursor, limit);
+        DataBufferFactory buffers = response.bufferFactory();
+        Flux<DataBuffer> body = ProductDocumentWriter.write(page, cursor,
+                        pageCursor -> ProductController.buildPageLink(productSort, filter, pageCursor, limit))
+                .map(buffers::wrap);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<ProductDocument>> getByIds(@RequestParam List<Long> ids) {
+        return productService.getProductsByIds(ids).map(lookup -> ResponseEntity.ok(ProductDocument.of(lookup)));
+    }
+
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<ProductDocument>> lookup(@RequestBody List<Long> ids) {
+        return productService.getProductsByIds(ids).map(lookup -> ResponseEntity.ok(ProductDocument.of(lookup)));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<ProductDocument>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            ServerWebExchange exchange) {
+        return productService.searchProducts(q, cursor, limit)
+                .mapNotNull(page -> {
+                    String eTag = ProductETags.of(page);
+                    if (exchange.checkNotModified(eTag)) {
+                        return null;
+                    }
+                    String next = page.hasNext()
+                            ? ProductController.buildSearchLink(q, page.nextCursor(), limit)
+                            : null;
+                    return ResponseEntity.ok()
+                            .eTag(eTag)
+                            .body(ProductDocument.of(page, ProductController.buildSearchLink(q, cursor, limit), next));
+                });
+    }
+
+    /**
+     * One buffer per product, written without a flush after each line.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<DataBuffer>> export(ServerHttpResponse response) {
+        ObjectWriter writer = objectMapper.writerFor(Product.class);
+        DataBufferFactory buffers = response.bufferFactory();
+        Flux<DataBuffer> body = productService.exportProducts()
+                .map(product -> writeLine(writer, buffers, product));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Revalidation with {@code If-None-Match} only reads the product's
+     * version, as on the servlet stack.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProductDocument>> getById(@PathVariable Long id, ServerWebExchange exchange) {
+        Mono<Boolean> notModified = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH) == null
+                ? Mono.just(false)
+                : productService.getProductVersion(id)
+                        .map(version -> exchange.checkNotModified(ProductETags.ofVersion(version)))
+                        .defaultIfEmpty(false);
+        return notModified.flatMap(unchanged -> unchanged
+                ? Mono.empty()
+                : productService.getProductById(id)
+                        .map(product -> ResponseEntity.ok()
+                                .eTag(ProductETags.of(product))
+                                .body(ProductDocument.of(product)))
+                        .defaultIfEmpty(ResponseEntity.notFound().build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ProductDocument>> update(
+            @PathVariable Long id,
+            @RequestBody ProductDTO productDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Mono<Product> updated = ProductController.isUnconditional(ifMatch)
+                ? productService.updateProduct(id, productDTO)
+                : expectedVersion(id, ifMatch)
+                        .flatMap(version -> productService.updateProduct(id, productDTO, version));
+        return withETag(updated);
+    }
+
+    @PatchMapping(value = "/{id}",
+            consumes = {ProductController.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<ProductDocument>> patch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patchDocument,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductPatch patch = ProductPatch.from(patchDocument);
+        Mono<Product> patched = ProductController.isUnconditional(ifMatch)
+                ? productService.patchProduct(id, patch)
+                : expectedVersion(id, ifMatch).flatMap(version -> productService.patchProduct(id, patch, version));
+        return withETag(patched);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return productService.deleteProduct(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+                .onErrorResume(ProductNotFoundException.class, e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    private static Mono<ResponseEntity<ProductDocument>> withETag(Mono<Product> product) {
+        return product
+                .map(saved -> ResponseEntity.ok()
+                        .eTag(ProductETags.of(saved))
+                        .body(ProductDocument.of(saved)))
+                .onErrorResume(ProductNotFoundException.class, e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    private Mono<Long> expectedVersion(Long id, String ifMatch) {
+        List<Long> versions = ProductETags.versionsFromIfMatch(id, ifMatch);
+        if (versions.size() == 1) {
+            return Mono.just(versions.get(0));
+        }
+        return productService.getProductVersion(id)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)))
+                .flatMap(current -> versions.contains(current)
+                        ? Mono.just(current)
+                        : Mono.error(new ProductVersionMismatchException(id)));
+    }
+
+    private static DataBuffer writeLine(ObjectWriter writer, DataBufferFactory buffers, Product product) {
+        try {
+            byte[] json = writer.writeValueAsBytes(product);
+            return buffers.allocateBuffer(json.length + 1).write(json).write((byte) '\n');
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
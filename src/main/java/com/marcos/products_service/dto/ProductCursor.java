@@ -0,0 +1,56 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import com.marcos.products_service.model.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page, handed to clients as an opaque token.
+ * The token carries the sort it was issued for together with the values of
+ * the sort key and the id, which is everything needed to seek to the next
+ * page without an OFFSET.
+ */
+public record ProductCursor(ProductSort sort, long id, String value) {
+
+    private static final String SEPARATOR = ":";
+
+    public static ProductCursor of(ProductSort sort, Product product) {
+        String value = switch (sort) {
+            case ID -> "";
+            case PRICE -> Double.toString(product.getPrice());
+            case NAME -> product.getName();
+        };
+        return new ProductCursor(sort, product.getId(), value);
+    }
+
+    public static ProductCursor decode(String token, ProductSort expectedSort) {
+        ProductCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            cursor = new ProductCursor(ProductSort.valueOf(parts[0]), Long.parseLong(parts[1]), parts[2]);
+            if (cursor.sort() == ProductSort.PRICE) {
+                cursor.priceValue();
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidPageRequestException("cursor", "Malformed pagination cursor");
+        }
+        if (cursor.sort() != expectedSort) {
+            throw new InvalidPageRequestException("cursor",
+                    "Cursor was issued for sort '" + cursor.sort().getParameter() + "'");
+        }
+        return cursor;
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public double priceValue() {
+        return Double.parseDouble(value);
+    }
+
+}
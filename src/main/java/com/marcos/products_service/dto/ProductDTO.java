@@ -1,8 +1,10 @@
 package com.marcos.products_service.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,12 +19,15 @@ public class ProductDTO {
             example = "Premium Wireless Headphones",
             requiredMode = Schema.RequiredMode.REQUIRED)
     @NotBlank(message = "Product name cannot be blank")
+    @Size(max = 100, message = "Product name must be at most 100 characters")
     private String name;
 
     @Schema(description = "Price of the product in USD",
             example = "199.99",
             requiredMode = Schema.RequiredMode.REQUIRED)
-    @Positive(message = "Product price must be positive")
+    // Stored as NUMERIC(10, 2): below half a cent it would round to 0.00
+    @DecimalMin(value = "0.005", message = "Product price must be positive")
+    @DecimalMax(value = "99999999.995", inclusive = false, message = "Product price must be at most 99999999.99")
     private double price;
 
     @Schema(description = "Detailed description of the product",
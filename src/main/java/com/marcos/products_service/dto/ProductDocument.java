@@ -0,0 +1,37 @@
+package com.marcos.products_service.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.marcos.products_service.model.Product;
+
+import java.util.List;
+
+/**
+ * A JSON:API response document whose primary data is one product or a list
+ * of them, with optional {@code links} and {@code meta.missing}. Written
+ * field by field by {@link ProductDocumentSerializer}, so no maps are built
+ * per product.
+ */
+@JsonSerialize(using = ProductDocumentSerializer.class)
+public record ProductDocument(List<Product> products, boolean collection,
+                              String selfLink, String nextLink, List<Long> missing) {
+
+    public static ProductDocument of(Product product) {
+        return new ProductDocument(List.of(product), false, null, null, null);
+    }
+
+    public static ProductDocument of(List<Product> products) {
+        return new ProductDocument(products, true, null, null, null);
+    }
+
+    /**
+     * A page of a listing. {@code nextLink} is {@code null} on the last page.
+     */
+    public static ProductDocument of(ProductPage page, String selfLink, String nextLink) {
+        return new ProductDocument(page.products(), true, selfLink, nextLink, null);
+    }
+
+    public static ProductDocument of(ProductLookup lookup) {
+        return new ProductDocument(lookup.products(), true, null, null, lookup.missing());
+    }
+
+}
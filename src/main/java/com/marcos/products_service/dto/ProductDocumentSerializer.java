@@ -0,0 +1,99 @@
+package com.marcos.products_service.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.marcos.products_service.model.Product;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streams a {@link ProductDocument} straight to the generator. Field names
+ * are pre-encoded once, and ids and prices are written as primitives.
+ */
+final class ProductDocumentSerializer extends StdSerializer<ProductDocument> {
+
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString LINKS = new SerializedString("links");
+    private static final SerializedString SELF = new SerializedString("self");
+    private static final SerializedString NEXT = new SerializedString("next");
+    private static final SerializedString META = new SerializedString("meta");
+    private static final SerializedString MISSING = new SerializedString("missing");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString PRODUCT = new SerializedString("product");
+    private static final SerializedString ATTRIBUTES = new SerializedString("attributes");
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+
+    ProductDocumentSerializer() {
+        super(ProductDocument.class);
+    }
+
+    @Override
+    public void serialize(ProductDocument document, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(DATA);
+        List<Product> products = document.products();
+        if (document.collection()) {
+            generator.writeStartArray(products, products.size());
+            for (int i = 0; i < products.size(); i++) {
+                writeResource(generator, products.get(i));
+            }
+            generator.writeEndArray();
+        } else {
+            writeResource(generator, products.get(0));
+        }
+        if (document.selfLink() != null) {
+            generator.writeFieldName(LINKS);
+            generator.writeStartObject();
+            generator.writeFieldName(SELF);
+            generator.writeString(document.selfLink());
+            if (document.nextLink() != null) {
+                generator.writeFieldName(NEXT);
+                generator.writeString(document.nextLink());
+            }
+            generator.writeEndObject();
+        }
+        if (document.missing() != null) {
+            generator.writeFieldName(META);
+            generator.writeStartObject();
+            generator.writeFieldName(MISSING);
+            List<Long> missing = document.missing();
+            generator.writeStartArray(missing, missing.size());
+            for (int i = 0; i < missing.size(); i++) {
+                generator.writeNumber(missing.get(i));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    static void writeResource(JsonGenerator generator, Product product) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(TYPE);
+        generator.writeString(PRODUCT);
+        generator.writeFieldName(ATTRIBUTES);
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        if (product.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(product.getId().longValue());
+        }
+        generator.writeFieldName(NAME);
+        generator.writeString(product.getName());
+        generator.writeFieldName(PRICE);
+        generator.writeNumber(product.getPrice());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(product.getDescription());
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.marcos.products_service.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.marcos.products_service.model.Product;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/**
+ * Writes a {@link ProductPageStream} as a JSON:API collection document while
+ * its rows are still arriving, one chunk per product, so nothing waits for
+ * the whole page. The bytes are the same {@link ProductDocumentSerializer}
+ * writes for the finished {@link ProductPage}.
+ */
+public final class ProductDocumentWriter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final String DATA_START = "{\"data\":[";
+    private static final int RESOURCE_SIZE_HINT = 256;
+
+    private ProductDocumentWriter() {
+    }
+
+    /**
+     * The document's chunks in order. {@code pageLink} turns a cursor into a
+     * link: the self link is built from {@code cursor} and the next link, on
+     * all but the last page, from the position of the page's last product.
+     * The first chunk waits for the first row, so a query that fails outright
+     * still leaves the response uncommitted for an error document.
+     */
+    public static Flux<byte[]> write(ProductPageStream page, String cursor, Function<String, String> pageLink) {
+        return Flux.defer(() -> {
+            Progress progress = new Progress();
+            Flux<byte[]> resources = page.rows().handle((product, sink) -> {
+                if (progress.written == page.pageSize()) {
+                    progress.hasNext = true;
+                    return;
+                }
+                sink.next(write(generator -> {
+                    generator.writeRaw(progress.written == 0 ? DATA_START : ",");
+                    ProductDocumentSerializer.writeResource(generator, product);
+                }));
+                progress.last = product;
+                progress.written++;
+            });
+            Flux<byte[]> end = Flux.defer(() -> Flux.just(write(generator -> {
+                if (progress.written == 0) {
+                    generator.writeRaw(DATA_START);
+                }
+                String next = progress.hasNext
+                        ? pageLink.apply(ProductCursor.of(page.sort(), progress.last).encode())
+                        : null;
+                writeLinks(generator, pageLink.apply(cursor), next);
+            })));
+            return resources.concatWith(end);
+        });
+    }
+
+    private static void writeLinks(JsonGenerator generator, String self, String next) throws IOException {
+        generator.writeRaw("],\"links\":");
+        generator.writeStartObject();
+        generator.writeStringField("self", self);
+        if (next != null) {
+            generator.writeStringField("next", next);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('}');
+    }
+
+    private static byte[] write(Chunk chunk) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RESOURCE_SIZE_HINT);
+        try (JsonGenerator generator = JSON.createGenerator(bytes)) {
+            chunk.writeTo(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Chunk {
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * Per subscription; rows are delivered one at a time, so no locking.
+     */
+    private static final class Progress {
+        private int written;
+        private Product last;
+        private boolean hasNext;
+    }
+
+}
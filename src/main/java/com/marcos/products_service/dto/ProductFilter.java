@@ -0,0 +1,60 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.exception.InvalidPageRequestException;
+
+/**
+ * Optional restrictions on the product listing; {@code null} means
+ * unrestricted. {@code nameContains} matches case-insensitively anywhere in
+ * the name and needs at least {@value #MIN_NAME_CONTAINS_LENGTH} characters,
+ * the shortest substring the trigram index can narrow down.
+ */
+public record ProductFilter(Double minPrice, Double maxPrice, String nameContains) {
+
+    public static final int MIN_NAME_CONTAINS_LENGTH = 3;
+
+    public static final ProductFilter NONE = new ProductFilter(null, null, null);
+
+    public ProductFilter {
+        checkPrice("minPrice", minPrice);
+        checkPrice("maxPrice", maxPrice);
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new InvalidPageRequestException("minPrice", "minPrice cannot be greater than maxPrice");
+        }
+        if (nameContains != null && nameContains.isBlank()) {
+            nameContains = null;
+        }
+        if (nameContains != null && nameContains.length() < MIN_NAME_CONTAINS_LENGTH) {
+            throw new InvalidPageRequestException("nameContains",
+                    "nameContains needs at least " + MIN_NAME_CONTAINS_LENGTH + " characters");
+        }
+    }
+
+    public boolean isEmpty() {
+        return minPrice == null && maxPrice == null && nameContains == null;
+    }
+
+    /**
+     * Same test as the database query, for filtering in memory.
+     */
+    public boolean matches(double price, String name) {
+        return (minPrice == null || price >= minPrice)
+                && (maxPrice == null || price <= maxPrice)
+                && (nameContains == null || containsIgnoreCase(name, nameContains));
+    }
+
+    private static boolean containsIgnoreCase(String name, String part) {
+        for (int from = 0; from <= name.length() - part.length(); from++) {
+            if (name.regionMatches(true, from, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void checkPrice(String parameter, Double price) {
+        if (price != null && (!Double.isFinite(price) || price < 0)) {
+            throw new InvalidPageRequestException(parameter, parameter + " must be a non-negative number");
+        }
+    }
+
+}
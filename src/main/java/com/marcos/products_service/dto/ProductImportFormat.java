@@ -0,0 +1,25 @@
+package com.marcos.products_service.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Upload formats accepted by the catalog import. CSV uploads need a header
+ * row naming the {@code name}, {@code price} and {@code description} columns.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductImportFormat {
+
+    CSV(MediaType.parseMediaType("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    public static ProductImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mediaType.isCompatibleWith(CSV.mediaType) ? CSV : NDJSON;
+    }
+
+}
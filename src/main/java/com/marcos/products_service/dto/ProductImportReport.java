@@ -0,0 +1,22 @@
+package com.marcos.products_service.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a catalog import. Only the first rejected rows are described in
+ * {@code rejections}, one reason per row; {@code rejected} always holds the
+ * full count.
+ */
+public record ProductImportReport(long imported, long rejected, long elapsedMillis, List<Rejection> rejections) {
+
+    public long rowsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000 / elapsedMillis;
+    }
+
+    /**
+     * @param record 1-based position of the row in the upload, header excluded
+     */
+    public record Rejection(long record, String field, String detail) {
+    }
+
+}
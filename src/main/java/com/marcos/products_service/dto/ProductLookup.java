@@ -0,0 +1,12 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.model.Product;
+
+import java.util.List;
+
+/**
+ * Products found for a list of ids, in the order they were asked for, and
+ * the ids that matched no product.
+ */
+public record ProductLookup(List<Product> products, List<Long> missing) {
+}
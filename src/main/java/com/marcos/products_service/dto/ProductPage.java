@@ -0,0 +1,46 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.model.Product;
+
+import java.util.List;
+
+/**
+ * One page of the product listing. {@code nextCursor} is {@code null} on the
+ * last page.
+ */
+public record ProductPage(List<Product> products, String nextCursor) {
+
+    /**
+     * Builds a page from up to {@code pageSize + 1} rows read in {@code sort}
+     * order. The extra row only signals that a next page exists, which saves
+     * a COUNT query.
+     */
+    public static ProductPage of(ProductSort sort, List<Product> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new ProductPage(rows, null);
+        }
+        List<Product> products = rows.subList(0, pageSize);
+        Product last = products.get(pageSize - 1);
+        return new ProductPage(products, ProductCursor.of(sort, last).encode());
+    }
+
+    /**
+     * Builds a page of search results from up to {@code pageSize + 1} hits in
+     * rank order, like {@link #of(ProductSort, List, int)}.
+     */
+    public static ProductPage ofHits(List<ProductSearchHit> hits, int pageSize) {
+        List<Product> products = hits.stream()
+                .limit(pageSize)
+                .map(ProductSearchHit::product)
+                .toList();
+        if (hits.size() <= pageSize) {
+            return new ProductPage(products, null);
+        }
+        return new ProductPage(products, ProductSearchCursor.of(hits.get(pageSize - 1)).encode());
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.model.Product;
+import reactor.core.publisher.Flux;
+
+/**
+ * One page of the product listing whose rows are still being read. Like
+ * {@link ProductPage#of(ProductSort, java.util.List, int)}, {@code rows}
+ * holds up to {@code pageSize + 1} products in {@code sort} order and the
+ * extra one only signals that a next page exists.
+ */
+public record ProductPageStream(ProductSort sort, int pageSize, Flux<Product> rows) {
+}
@@ -0,0 +1,81 @@
+package com.marcos.products_service.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.marcos.products_service.exception.InvalidProductPatchException;
+import com.marcos.products_service.exception.InvalidProductPatchException.Violation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON Merge Patch (RFC 7396) of a product's attributes. Only the members
+ * present in the document change; {@code null} clears the optional
+ * {@code description}. Attribute names double as column names.
+ */
+public final class ProductPatch {
+
+    public static final String NAME = "name";
+    public static final String PRICE = "price";
+    public static final String DESCRIPTION = "description";
+
+    private final Map<String, Object> changes;
+
+    private ProductPatch(Map<String, Object> changes) {
+        this.changes = Collections.unmodifiableMap(changes);
+    }
+
+    /**
+     * Reads the patch document, checking only its shape. The values are
+     * validated against {@link ProductDTO} by the service.
+     */
+    public static ProductPatch from(JsonNode document) {
+        if (document == null || !document.isObject()) {
+            throw new InvalidProductPatchException(List.of(
+                    new Violation(null, "A merge patch must be a JSON object")));
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        List<Violation> violations = new ArrayList<>();
+        document.fields().forEachRemaining(member -> {
+            String attribute = member.getKey();
+            JsonNode value = member.getValue();
+            switch (attribute) {
+                case NAME, DESCRIPTION -> {
+                    if (value.isNull() || value.isTextual()) {
+                        changes.put(attribute, value.isNull() ? null : value.textValue());
+                    } else {
+                        violations.add(new Violation(attribute, "Expected a string"));
+                    }
+                }
+                case PRICE -> {
+                    if (value.isNull()) {
+                        violations.add(new Violation(attribute, "Product price cannot be removed"));
+                    } else if (!value.isNumber() || !Double.isFinite(value.doubleValue())) {
+                        violations.add(new Violation(attribute, "Expected a finite number"));
+                    } else {
+                        changes.put(attribute, value.doubleValue());
+                    }
+                }
+                default -> violations.add(new Violation(attribute, "Unknown or read-only attribute"));
+            }
+        });
+        if (!violations.isEmpty()) {
+            throw new InvalidProductPatchException(violations);
+        }
+        return new ProductPatch(changes);
+    }
+
+    /**
+     * New values by attribute, in document order. Values may be {@code null}.
+     */
+    public Map<String, Object> changes() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last hit of a search page. Results are ordered by
+ * descending rank and then by id, so the rank and id of the last hit are
+ * enough to seek to the next page. The rank is carried as its exact
+ * {@code float} bits, since it has to compare equal to the recomputed one.
+ */
+public record ProductSearchCursor(float rank, long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public static ProductSearchCursor of(ProductSearchHit hit) {
+        return new ProductSearchCursor(hit.rank(), hit.product().getId());
+    }
+
+    public static ProductSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 2);
+            return new ProductSearchCursor(
+                    Float.intBitsToFloat(Integer.parseUnsignedInt(parts[0], 16)), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidPageRequestException("cursor", "Malformed pagination cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = Integer.toHexString(Float.floatToIntBits(rank)) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
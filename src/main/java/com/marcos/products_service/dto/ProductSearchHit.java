@@ -0,0 +1,9 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.model.Product;
+
+/**
+ * A product matching a search query, with the relevance it was ranked by.
+ */
+public record ProductSearchHit(Product product, float rank) {
+}
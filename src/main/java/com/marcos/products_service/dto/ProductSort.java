@@ -0,0 +1,39 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+
+/**
+ * Orderings supported by the keyset-paginated listing. Every ordering is made
+ * unique by falling back to the primary key, so a cursor always points to
+ * exactly one row.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductSort {
+
+    ID("id"),
+    PRICE("price"),
+    NAME("name");
+
+    private final String parameter;
+
+    public Sort toSort() {
+        return this == ID
+                ? Sort.by(Sort.Order.asc("id"))
+                : Sort.by(Sort.Order.asc(parameter), Sort.Order.asc("id"));
+    }
+
+    public static ProductSort fromParameter(String parameter) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.parameter.equalsIgnoreCase(parameter))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPageRequestException("sort",
+                        "Unsupported sort '" + parameter + "', expected one of id, price, name"));
+    }
+
+}
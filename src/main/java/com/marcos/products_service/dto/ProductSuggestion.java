@@ -0,0 +1,7 @@
+package com.marcos.products_service.dto;
+
+/**
+ * A product whose name completes an autocomplete prefix.
+ */
+public record ProductSuggestion(long id, String name) {
+}
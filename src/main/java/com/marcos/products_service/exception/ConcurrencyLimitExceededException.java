@@ -0,0 +1,13 @@
+package com.marcos.products_service.exception;
+
+/**
+ * Raised when a request is shed because the adaptive concurrency limit is
+ * already reached.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(int limit) {
+        super("Too many requests in flight, the current limit is " + limit);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.marcos.products_service.exception;
+
+public class InvalidImportException extends RuntimeException {
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+
+}
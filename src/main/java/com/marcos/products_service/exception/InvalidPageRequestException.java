@@ -0,0 +1,15 @@
+package com.marcos.products_service.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidPageRequestException extends RuntimeException {
+
+    private final String parameter;
+
+    public InvalidPageRequestException(String parameter, String message) {
+        super(message);
+        this.parameter = parameter;
+    }
+
+}
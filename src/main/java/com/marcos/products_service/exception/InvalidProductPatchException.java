@@ -0,0 +1,28 @@
+package com.marcos.products_service.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Raised for merge patch documents that cannot be applied to a product:
+ * unknown members, values of the wrong type, or values that break the
+ * rules on {@code ProductDTO}.
+ */
+@Getter
+public class InvalidProductPatchException extends RuntimeException {
+
+    private final List<Violation> violations;
+
+    public InvalidProductPatchException(List<Violation> violations) {
+        super("Invalid product patch: " + violations);
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * @param attribute the offending member, or {@code null} for the document itself
+     */
+    public record Violation(String attribute, String detail) {
+    }
+
+}
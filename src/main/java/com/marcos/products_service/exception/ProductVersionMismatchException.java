@@ -0,0 +1,24 @@
+package com.marcos.products_service.exception;
+
+import lombok.Getter;
+
+/**
+ * Raised when a conditional update names a version that is no longer the
+ * product's current one.
+ */
+@Getter
+public class ProductVersionMismatchException extends RuntimeException {
+
+    private final Long id;
+
+    public ProductVersionMismatchException(Long id, long expectedVersion) {
+        super("Product with id " + id + " is no longer at version " + expectedVersion);
+        this.id = id;
+    }
+
+    public ProductVersionMismatchException(Long id) {
+        super("If-Match does not name the current version of product with id " + id);
+        this.id = id;
+    }
+
+}
@@ -1,10 +1,20 @@
 package com.marcos.products_service.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.List;
 import java.util.Map;
@@ -13,9 +23,24 @@ import java.util.Objects;
 @RestControllerAdvice
 public class RestExceptionHandler {
 
+    static final String RETRY_AFTER_SECONDS = "1";
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
-        List<Map<String, Object>> errors = ex.getBindingResult().getFieldErrors().stream()
+        return fieldErrors(ex.getBindingResult().getFieldErrors());
+    }
+
+    /**
+     * WebFlux's counterpart of {@link MethodArgumentNotValidException}, raised
+     * on the reactive stack.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleBindErrors(WebExchangeBindException ex) {
+        return fieldErrors(ex.getFieldErrors());
+    }
+
+    private static ResponseEntity<Map<String, Object>> fieldErrors(List<FieldError> fieldErrors) {
+        List<Map<String, Object>> errors = fieldErrors.stream()
                 .map(fieldError -> Map.of(
                         "status", HttpStatus.BAD_REQUEST.value(),
                         "title", "Validation Error",
@@ -28,6 +53,61 @@ public class RestExceptionHandler {
                 .body(Map.of("errors", errors));
     }
 
+    /**
+     * Raised for constraints on list elements such as a batch of
+     * {@code ProductDTO}s. Each error points at the offending item by index.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleMethodValidationErrors(HandlerMethodValidationException ex) {
+        List<Map<String, Object>> errors = ex.getParameterValidationResults().stream()
+                .filter(ParameterErrors.class::isInstance)
+                .map(ParameterErrors.class::cast)
+                .flatMap(parameterErrors -> parameterErrors.getFieldErrors().stream()
+                        .map(fieldError -> Map.<String, Object>of(
+                                "status", HttpStatus.BAD_REQUEST.value(),
+                                "title", "Validation Error",
+                                "detail", Objects.requireNonNull(fieldError.getDefaultMessage()),
+                                "source", Map.of("pointer", "/data/" + parameterErrors.getContainerIndex()
+                                        + "/attributes/" + fieldError.getField())
+                        )))
+                .toList();
+
+        return ResponseEntity.badRequest()
+                .body(Map.of("errors", errors));
+    }
+
+    @ExceptionHandler(InvalidProductPatchException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPatch(InvalidProductPatchException ex) {
+        List<Map<String, Object>> errors = ex.getViolations().stream()
+                .map(violation -> Map.<String, Object>of(
+                        "status", HttpStatus.BAD_REQUEST.value(),
+                        "title", "Validation Error",
+                        "detail", violation.detail(),
+                        "source", Map.of("pointer", violation.attribute() == null
+                                ? "/data" : "/data/attributes/" + violation.attribute())
+                ))
+                .toList();
+
+        return ResponseEntity.badRequest()
+                .body(Map.of("errors", errors));
+    }
+
+    /**
+     * A request body that isn't well-formed JSON, or doesn't fit the document
+     * it should bind to.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, Object>> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        Map<String, Object> error = Map.of(
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "title", "Malformed Request Body",
+                "detail", "The request body could not be read as a JSON document"
+        );
+
+        return ResponseEntity.badRequest()
+                .body(Map.of("errors", List.of(error)));
+    }
+
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleProductNotFound(ProductNotFoundException ex) {
         Map<String, Object> error = Map.of(
@@ -41,6 +121,105 @@ public class RestExceptionHandler {
                 .body(Map.of("errors", List.of(error)));
     }
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPageRequest(InvalidPageRequestException ex) {
+        Map<String, Object> error = Map.of(
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "title", "Invalid Page Request",
+                "detail", ex.getMessage(),
+                "source", Map.of("parameter", ex.getParameter())
+        );
+
+        return ResponseEntity.badRequest()
+                .body(Map.of("errors", List.of(error)));
+    }
+
+    /**
+     * A query parameter that can't be converted to its type, such as
+     * {@code ?minPrice=abc}.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        Map<String, Object> error = Map.of(
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "title", "Invalid Parameter",
+                "detail", "'" + ex.getValue() + "' is not a valid value for " + ex.getName(),
+                "source", Map.of("parameter", ex.getName())
+        );
+
+        return ResponseEntity.badRequest()
+                .body(Map.of("errors", List.of(error)));
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidImport(InvalidImportException ex) {
+        Map<String, Object> error = Map.of(
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "title", "Invalid Import",
+                "detail", ex.getMessage()
+        );
+
+        return ResponseEntity.badRequest()
+                .body(Map.of("errors", List.of(error)));
+    }
+
+    @ExceptionHandler(ProductVersionMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleVersionMismatch(ProductVersionMismatchException ex) {
+        Map<String, Object> error = Map.of(
+                "status", HttpStatus.PRECONDITION_FAILED.value(),
+                "title", "Precondition Failed",
+                "detail", ex.getMessage(),
+                "source", Map.of("header", HttpHeaders.IF_MATCH)
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("errors", List.of(error)));
+    }
+
+    /**
+     * Two unconditional updates of the same product raced and this one lost.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        Map<String, Object> error = Map.of(
+                "status", HttpStatus.CONFLICT.value(),
+                "title", "Conflict",
+                "detail", "The product was modified concurrently, retry with its current version"
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("errors", List.of(error)));
+    }
+
+    /**
+     * Shed by the adaptive concurrency limit before any work was done.
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrencyLimitExceeded(ConcurrencyLimitExceededException ex) {
+        return unavailable(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", ex.getMessage());
+    }
+
+    /**
+     * The database is too slow to keep up: its bulkhead has no permit left
+     * or its circuit breaker is open.
+     */
+    @ExceptionHandler({BulkheadFullException.class, CallNotPermittedException.class})
+    public ResponseEntity<Map<String, Object>> handleOverload(RuntimeException ex) {
+        return unavailable(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage());
+    }
+
+    private static ResponseEntity<Map<String, Object>> unavailable(HttpStatus status, String title, String detail) {
+        Map<String, Object> error = Map.of(
+                "status", status.value(),
+                "title", title,
+                "detail", detail
+        );
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(Map.of("errors", List.of(error)));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneralExceptions(Exception ex) {
         Map<String, Object> error = Map.of(
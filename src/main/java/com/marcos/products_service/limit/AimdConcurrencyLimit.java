@@ -0,0 +1,131 @@
+package com.marcos.products_service.limit;
+
+import com.marcos.products_service.config.ProductConcurrencyLimitProperties;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limit that finds its own level from observed latency, the
+ * way TCP finds its congestion window: additive increase, multiplicative
+ * decrease.
+ *
+ * <p>Each request that completes under the latency threshold while the limit
+ * was at least half used raises the limit by {@code 1 / limit}, about one
+ * per round of requests. A request that is slower, or fails because
+ * something downstream was overloaded, multiplies it by the backoff ratio.
+ * Only one backoff is applied per round: requests that started before the
+ * last backoff saw the old limit and say nothing about the new one.</p>
+ */
+public class AimdConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double estimate;
+    private long lastBackoffNanos;
+    private volatile int limit;
+
+    public AimdConcurrencyLimit(ProductConcurrencyLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AimdConcurrencyLimit(ProductConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        if (properties.minLimit() < 1 || properties.minLimit() > properties.maxLimit()) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max, were "
+                    + properties.minLimit() + " and " + properties.maxLimit());
+        }
+        if (properties.backoffRatio() <= 0 || properties.backoffRatio() >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1, was "
+                    + properties.backoffRatio());
+        }
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+        this.backoffRatio = properties.backoffRatio();
+        this.nanoClock = nanoClock;
+        this.estimate = Math.min(Math.max(properties.initialLimit(), minLimit), maxLimit);
+        this.lastBackoffNanos = nanoClock.getAsLong();
+        this.limit = (int) estimate;
+    }
+
+    /**
+     * A permit to go ahead, or nothing when the limit is reached. Every
+     * permit must be completed exactly once.
+     */
+    public Optional<Permit> tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return Optional.empty();
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return Optional.of(new Permit(nanoClock.getAsLong(), current + 1));
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(Permit permit, long latencyNanos, boolean overloaded) {
+        if (overloaded || latencyNanos > latencyThresholdNanos) {
+            if (permit.startNanos - lastBackoffNanos >= 0) {
+                estimate = Math.max(minLimit, estimate * backoffRatio);
+                lastBackoffNanos = nanoClock.getAsLong();
+            }
+        } else if (permit.inFlight * 2 >= limit) {
+            estimate = Math.min(maxLimit, estimate + 1 / estimate);
+        }
+        limit = (int) estimate;
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlight;
+
+        private Permit(long startNanos, int inFlight) {
+            this.startNanos = startNanos;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * The request finished; its latency feeds the limit.
+         */
+        public void success() {
+            release();
+            sample(this, nanoClock.getAsLong() - startNanos, false);
+        }
+
+        /**
+         * The request failed because something it depends on is overloaded.
+         */
+        public void overloaded() {
+            release();
+            sample(this, nanoClock.getAsLong() - startNanos, true);
+        }
+
+        /**
+         * The request finished without saying anything about load, e.g. a
+         * streamed response whose length is up to the client.
+         */
+        public void ignore() {
+            release();
+        }
+
+        private void release() {
+            AimdConcurrencyLimit.this.inFlight.decrementAndGet();
+        }
+    }
+
+}
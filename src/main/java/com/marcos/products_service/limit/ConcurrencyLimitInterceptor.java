@@ -0,0 +1,105 @@
+package com.marcos.products_service.limit;
+
+import com.marcos.products_service.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * Sheds controller requests over the {@link AimdConcurrencyLimit} with a
+ * {@link ConcurrencyLimitExceededException}, before they take a thread's
+ * worth of work or a database connection, and feeds the latency of the
+ * others back into the limit. Only a failed database call, a timed out
+ * transaction or a pool that had no connection to give counts as overload.
+ * Any other failure, whether a client's bad input, a bug or a request shed
+ * downstream by a bulkhead or the circuit breaker, says nothing about load
+ * and leaves the limit alone.
+ *
+ * <p>Async requests stop counting once the handler returns; a streamed body
+ * takes as long as the client reads it.</p>
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    static final String LIMIT = "products.concurrency.limit";
+    static final String IN_FLIGHT = "products.concurrency.in-flight";
+    static final String REJECTED = "products.concurrency.rejected";
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AimdConcurrencyLimit limit;
+    private final Counter rejected;
+
+    public ConcurrencyLimitInterceptor(AimdConcurrencyLimit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        Gauge.builder(LIMIT, limit, AimdConcurrencyLimit::limit)
+                .description("Requests the product API currently lets in at once")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT, limit, AimdConcurrencyLimit::inFlight)
+                .description("Product API requests in flight")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED)
+                .description("Product API requests shed over the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        AimdConcurrencyLimit.Permit permit = limit.tryAcquire().orElseThrow(() -> {
+            rejected.increment();
+            return new ConcurrencyLimitExceededException(limit.limit());
+        });
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AimdConcurrencyLimit.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.ignore();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(PERMIT_ATTRIBUTE) instanceof AimdConcurrencyLimit.Permit permit)) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        // Exceptions answered by an exception handler don't reach here as ex
+        Throwable failure = ex != null ? ex : (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+        if (isOverload(failure)) {
+            permit.overloaded();
+        } else if (failure != null || response.getStatus() >= 500) {
+            permit.ignore();
+        } else {
+            permit.success();
+        }
+    }
+
+    private static boolean isOverload(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.marcos.products_service.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDBC statement as a Flight Recorder event, so that recordings show the
+ * SQL behind database waits next to the socket reads it caused. Disabled
+ * unless a recording asks for it; nothing is allocated for it until then.
+ */
+@Name(JdbcStatementEvent.NAME)
+@Label("JDBC Statement")
+@Category({"Products Service", "Database"})
+public final class JdbcStatementEvent extends Event {
+
+    public static final String NAME = "com.marcos.products_service.JdbcStatement";
+
+    private static final EventType TYPE = EventType.getEventType(JdbcStatementEvent.class);
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Batch Size")
+    int batchSize;
+
+    static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.marcos.products_service.metrics;
+
+import com.marcos.products_service.config.ProductSloProperties;
+import com.marcos.products_service.config.ProductSloProperties.Objectives;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * One {@code products.service} timer per {@code ProductService} operation,
+ * tagged {@code operation=<method name>}. Each publishes a percentile
+ * histogram for Prometheus, p50/p99/p999 computed in process over the last
+ * couple of minutes, and a bucket at every configured objective.
+ *
+ * <p>Timers are looked up once and kept by their callers, so timing a call
+ * costs two {@link System#nanoTime()} calls and the histogram update.</p>
+ */
+@Component
+public class OperationTimers {
+
+    static final String TIMER = "products.service";
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ProductSloProperties sloProperties;
+
+    public OperationTimers(MeterRegistry meterRegistry, ProductSloProperties sloProperties) {
+        this.meterRegistry = meterRegistry;
+        this.sloProperties = sloProperties;
+    }
+
+    public Timer timer(String operation) {
+        return timers.computeIfAbsent(operation, this::register);
+    }
+
+    Objectives objectives(String operation) {
+        return sloProperties.objectives(operation);
+    }
+
+    SortedMap<String, Timer> timers() {
+        return new TreeMap<>(timers);
+    }
+
+    private Timer register(String operation) {
+        Objectives objectives = sloProperties.objectives(operation);
+        return Timer.builder(TIMER)
+                .description("ProductService call latency")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Stream.of(objectives.p50(), objectives.p99(), objectives.p999())
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toArray(Duration[]::new))
+                .register(meterRegistry);
+    }
+
+}
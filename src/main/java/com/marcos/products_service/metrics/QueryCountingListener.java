@@ -0,0 +1,66 @@
+package com.marcos.products_service.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds the {@link QueryStats} open on the executing thread from the proxied
+ * {@code DataSource}, and times every statement whichever thread runs it.
+ * Statement time is taken with {@link System#nanoTime()} because the proxy
+ * only reports whole milliseconds. While a Flight Recorder recording asks
+ * for them, statements are also committed as {@link JdbcStatementEvent}s.
+ */
+class QueryCountingListener extends JdbcLifecycleEventListenerAdapter {
+
+    private static final String STARTED = "startedNanos";
+    private static final String EVENT = "jfrEvent";
+
+    private final Timer statementTimer;
+
+    QueryCountingListener(Timer statementTimer) {
+        this.statementTimer = statementTimer;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED, System.nanoTime());
+        if (JdbcStatementEvent.isRecorded()) {
+            JdbcStatementEvent event = new JdbcStatementEvent();
+            event.begin();
+            execInfo.addCustomValue(EVENT, event);
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = execInfo.getCustomValue(STARTED, Long.class);
+        long elapsedNanos = started == null ? 0 : System.nanoTime() - started;
+        statementTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        QueryStats.statementExecuted(elapsedNanos);
+
+        JdbcStatementEvent event = execInfo.getCustomValue(EVENT, JdbcStatementEvent.class);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining(";\n"));
+                event.batchSize = execInfo.getBatchSize();
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void afterNext(MethodExecutionContext executionContext) {
+        if (Boolean.TRUE.equals(executionContext.getResult())) {
+            QueryStats.rowRead();
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.marcos.products_service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the JDBC work of every request handled by a controller method and
+ * records it per request as {@code products.db.statements},
+ * {@code products.db.rows} and {@code products.db.time}, tagged with the
+ * handler, e.g. {@code handler=ProductController.delete}.
+ *
+ * <p>For async requests only the work done before the handler returned is
+ * counted; a streamed body is written on another thread.</p>
+ */
+public class QueryMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String STATEMENTS = "products.db.statements";
+    static final String ROWS = "products.db.rows";
+    static final String TIME = "products.db.time";
+
+    private static final String STATS_ATTRIBUTE = QueryMetricsInterceptor.class.getName() + ".stats";
+
+    private final Map<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public QueryMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getDispatcherType() == DispatcherType.REQUEST) {
+            request.setAttribute(STATS_ATTRIBUTE, QueryStats.start());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(STATS_ATTRIBUTE) instanceof QueryStats stats) {
+            stats.close();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(STATS_ATTRIBUTE) instanceof QueryStats stats)
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        request.removeAttribute(STATS_ATTRIBUTE);
+        stats.close();
+        meters.computeIfAbsent(handlerName(handlerMethod), this::register).record(stats);
+    }
+
+    static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    private HandlerMeters register(String handler) {
+        return new HandlerMeters(
+                DistributionSummary.builder(STATEMENTS)
+                        .description("JDBC statements executed per request")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                DistributionSummary.builder(ROWS)
+                        .description("Rows read from JDBC result sets per request")
+                        .baseUnit("rows")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                Timer.builder(TIME)
+                        .description("Time spent executing JDBC statements per request")
+                        .tag("handler", handler)
+                        .register(meterRegistry));
+    }
+
+    private record HandlerMeters(DistributionSummary statements, DistributionSummary rows, Timer time) {
+
+        void record(QueryStats stats) {
+            statements.record(stats.statements());
+            rows.record(stats.rows());
+            time.record(stats.time());
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.marcos.products_service.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * JDBC work done by the current thread while this scope is open: statements
+ * executed, rows read from their result sets and time spent executing them.
+ * A JDBC batch counts as one statement, since it is one round trip.
+ *
+ * <p>Scopes nest; work is counted in every open scope of the thread, so a
+ * test can measure a single call while the request around it is measured
+ * too. Work done on other threads, such as the body of a streamed response,
+ * is not counted.</p>
+ *
+ * <pre>{@code
+ * try (QueryStats stats = QueryStats.start()) {
+ *     productService.deleteProduct(id);
+ * }
+ * }</pre>
+ */
+public final class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private final Thread owner;
+    private int statements;
+    private long rows;
+    private long nanos;
+    private boolean closed;
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * Opens a scope on the current thread; close it on the same thread.
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Wraps {@code dataSource} so that its statements and result set rows are
+     * counted in the scopes open on the thread using it, and every statement
+     * is timed with {@code statementTimer}.
+     */
+    public static DataSource countingProxy(DataSource dataSource, String name, Timer statementTimer) {
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(name)
+                .listener(new QueryCountingListener(statementTimer))
+                .proxyResultSet()
+                .build();
+    }
+
+    static void statementExecuted(long elapsedNanos) {
+        for (QueryStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    static void rowRead() {
+        for (QueryStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.rows++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public Duration time() {
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Stops counting. Closing again, or from another thread once the owner
+     * has moved on, has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed || Thread.currentThread() != owner) {
+            return;
+        }
+        closed = true;
+        if (CURRENT.get() == this) {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statement(s), " + rows + " row(s) in " + time().toMillis() + " ms";
+    }
+
+}
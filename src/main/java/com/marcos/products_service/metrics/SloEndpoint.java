@@ -0,0 +1,86 @@
+package com.marcos.products_service.metrics;
+
+import com.marcos.products_service.config.ProductSloProperties.Objectives;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/slo}: the current p50/p99/p999 of every timed
+ * {@code ProductService} operation next to its configured objectives, with
+ * the percentiles that are over their objective listed as {@code breached}.
+ * Latencies are in milliseconds; percentiles cover the last couple of
+ * minutes, {@code count} every call since startup.
+ */
+@Component
+@Endpoint(id = "slo")
+public class SloEndpoint {
+
+    private final OperationTimers operationTimers;
+
+    public SloEndpoint(OperationTimers operationTimers) {
+        this.operationTimers = operationTimers;
+    }
+
+    @ReadOperation
+    public SloReport slo() {
+        Map<String, OperationReport> operations = new LinkedHashMap<>();
+        operationTimers.timers().forEach((operation, timer) ->
+                operations.put(operation, report(timer, operationTimers.objectives(operation))));
+        return new SloReport(operations);
+    }
+
+    static OperationReport report(Timer timer, Objectives objectives) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        double p50 = 0;
+        double p99 = 0;
+        double p999 = 0;
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            double millis = value.value(TimeUnit.MILLISECONDS);
+            if (value.percentile() == 0.5) {
+                p50 = millis;
+            } else if (value.percentile() == 0.99) {
+                p99 = millis;
+            } else if (value.percentile() == 0.999) {
+                p999 = millis;
+            }
+        }
+
+        Map<String, Double> targets = new LinkedHashMap<>();
+        List<String> breached = new ArrayList<>();
+        check("p50", p50, objectives.p50(), targets, breached);
+        check("p99", p99, objectives.p99(), targets, breached);
+        check("p999", p999, objectives.p999(), targets, breached);
+        return new OperationReport(snapshot.count(), p50, p99, p999, targets, breached);
+    }
+
+    private static void check(String percentile, double millis, Duration objective, Map<String, Double> targets,
+                              List<String> breached) {
+        if (objective == null) {
+            return;
+        }
+        double target = objective.toNanos() / 1e6;
+        targets.put(percentile, target);
+        if (millis > target) {
+            breached.add(percentile);
+        }
+    }
+
+    public record SloReport(Map<String, OperationReport> operations) {
+    }
+
+    public record OperationReport(long count, double p50, double p99, double p999,
+                                  Map<String, Double> objectives, List<String> breached) {
+    }
+
+}
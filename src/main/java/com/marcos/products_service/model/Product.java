@@ -4,30 +4,68 @@ import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.Objects;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        @Index(name = "idx_products_name_id", columnList = "name, id")
+})
 @NoArgsConstructor
 @Builder(builderClassName = "ProductBuilder", toBuilder = true)
 @Data
 public class Product {
 
+    /**
+     * Ids handed out per sequence call. Must match the INCREMENT BY of
+     * {@code products_id_seq}: identity columns would disable JDBC insert batching.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Whether a {@code products_id_seq} value can end a block of ids
+     * {@code (value - ID_ALLOCATION_SIZE, value]}, for code that reserves
+     * blocks itself. The first value of a fresh sequence can't, as the block
+     * below it would reach ids of zero or less: Hibernate's pooled optimizer
+     * starts its block there and ends it with the next value instead.
+     */
+    public static boolean endsIdBlock(long sequenceValue) {
+        return sequenceValue > ID_ALLOCATION_SIZE;
+    }
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id_seq")
+    @SequenceGenerator(name = "products_id_seq", sequenceName = "products_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(nullable = false)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
+    // Bound as NUMERIC so predicates on price can use the DECIMAL(10, 2) column's indexes
+    @JdbcTypeCode(SqlTypes.NUMERIC)
+    @Column(precision = 10, scale = 2)
     private double price;
 
     @Column(length = 500)
     private String description;
 
+    /**
+     * Incremented on every update. Doubles as the product's ETag and lets
+     * conditional updates detect concurrent writes.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public Product(Long id, String name, double price, String description) {
+        this(id, name, price, description, 0);
+    }
+
+    public Product(Long id, String name, double price, String description, long version) {
         if (Objects.isNull(name) || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Product name cannot be null or empty");
         }
@@ -38,6 +76,7 @@ public class Product {
         this.name = name;
         this.price = price;
         this.description = description;
+        this.version = version;
     }
 
     @Override
@@ -0,0 +1,71 @@
+package com.marcos.products_service.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * {@code /actuator/jfr}: profiles the running service with Java Flight
+ * Recorder.
+ *
+ * <ul>
+ *     <li>{@code POST /actuator/jfr} with an optional {@code duration}, e.g.
+ *     {@code {"duration": "60s"}}, starts a recording: 202 Accepted, or 409
+ *     Conflict while one is already running.</li>
+ *     <li>{@code GET /actuator/jfr} reports the latest recording and, once it
+ *     is done, a summary of its top CPU and allocation frames.</li>
+ *     <li>{@code GET /actuator/jfr/<file>} downloads the finished
+ *     {@code .jfr} file, for JDK Mission Control or {@code jfr print}.</li>
+ * </ul>
+ *
+ * Only registered with {@code products.profiling.enabled=true}.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@ConditionalOnProperty(prefix = "products.profiling", name = "enabled", havingValue = "true")
+public class JfrEndpoint {
+
+    private static final String JFR_MEDIA_TYPE = "application/octet-stream";
+    private static final int STATUS_ACCEPTED = 202;
+    private static final int STATUS_CONFLICT = 409;
+
+    private final JfrRecorder recorder;
+
+    public JfrEndpoint(JfrRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable Duration duration) {
+        try {
+            return new WebEndpointResponse<>(recorder.start(duration), STATUS_ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(e.getMessage(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(recorder.status().orElse(null), STATUS_CONFLICT);
+        }
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<JfrStatus> status() {
+        return recorder.status()
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @ReadOperation(produces = JFR_MEDIA_TYPE)
+    public WebEndpointResponse<Resource> recording(@Selector String file) {
+        return recorder.recording(file)
+                .map(path -> new WebEndpointResponse<Resource>(new FileSystemResource(path)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
@@ -0,0 +1,214 @@
+package com.marcos.products_service.profiling;
+
+import com.marcos.products_service.config.ProductProfilingProperties;
+import com.marcos.products_service.metrics.JdbcStatementEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one time-boxed Flight Recorder session at a time and summarizes it
+ * once it ends. Only the latest recording is kept on disk, capped at
+ * {@code products.profiling.max-size}.
+ *
+ * <p>Recordings start from the JDK's {@code default} settings, made for
+ * continuous use in production at around 1% overhead, with CPU and
+ * allocation sampling, lock contention, socket I/O, JDBC statements and GC
+ * tuned for finding latency spikes. Ending and summarizing a recording
+ * happens on a background thread, never on a request thread.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "products.profiling", name = "enabled", havingValue = "true")
+public class JfrRecorder implements DisposableBean {
+
+    static final String PACKAGE = "com.marcos.products_service";
+
+    static final Map<String, String> SETTINGS = Map.ofEntries(
+            Map.entry("jdk.ExecutionSample#enabled", "true"),
+            Map.entry("jdk.ExecutionSample#period", "10 ms"),
+            Map.entry("jdk.ObjectAllocationSample#enabled", "true"),
+            Map.entry("jdk.ObjectAllocationSample#throttle", "300/s"),
+            Map.entry("jdk.JavaMonitorEnter#enabled", "true"),
+            Map.entry("jdk.JavaMonitorEnter#threshold", "10 ms"),
+            Map.entry("jdk.ThreadPark#enabled", "true"),
+            Map.entry("jdk.ThreadPark#threshold", "10 ms"),
+            Map.entry("jdk.SocketRead#enabled", "true"),
+            Map.entry("jdk.SocketRead#threshold", "10 ms"),
+            Map.entry("jdk.SocketWrite#enabled", "true"),
+            Map.entry("jdk.SocketWrite#threshold", "10 ms"),
+            Map.entry(JdbcStatementEvent.NAME + "#enabled", "true"),
+            Map.entry(JdbcStatementEvent.NAME + "#threshold", "5 ms"),
+            Map.entry(JdbcStatementEvent.NAME + "#stackTrace", "true"),
+            Map.entry("jdk.GarbageCollection#enabled", "true"),
+            Map.entry("jdk.GCPhasePause#enabled", "true"),
+            Map.entry("jdk.GCHeapSummary#enabled", "true"));
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC);
+
+    private final ProductProfilingProperties properties;
+    private final Path directory;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Session session;
+
+    public JfrRecorder(ProductProfilingProperties properties) {
+        this.properties = properties;
+        try {
+            this.directory = properties.directory() != null
+                    ? Files.createDirectories(properties.directory())
+                    : Files.createTempDirectory("products-jfr");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the JFR recording directory", e);
+        }
+    }
+
+    /**
+     * Starts recording for {@code duration}, or the default duration when
+     * {@code null}, replacing the previous recording.
+     *
+     * @throws IllegalStateException    while another recording is running
+     * @throws IllegalArgumentException when {@code duration} is not positive
+     *                                  or longer than the maximum
+     */
+    public synchronized JfrStatus start(Duration duration) {
+        Duration length = duration != null ? duration : properties.defaultDuration();
+        if (length.isNegative() || length.isZero() || length.compareTo(properties.maxDuration()) > 0) {
+            throw new IllegalArgumentException("Recording duration must be between 0 and "
+                    + properties.maxDuration() + ", was " + length);
+        }
+        if (session != null && session.state == JfrStatus.State.RECORDING) {
+            throw new IllegalStateException("A recording is already running until " + session.endsAt);
+        }
+        if (session != null) {
+            deleteQuietly(session.file);
+        }
+
+        Instant now = Instant.now();
+        Path file = directory.resolve("products-service-" + FILE_TIMESTAMP.format(now) + ".jfr");
+        Recording recording = new Recording(settings());
+        recording.setName("products-service");
+        recording.setToDisk(true);
+        recording.setMaxSize(properties.maxSize().toBytes());
+        try {
+            recording.setDestination(file);
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException("Cannot write the recording to " + file, e);
+        }
+        recording.start();
+
+        Session started = new Session(recording, file, now, now.plus(length));
+        session = started;
+        scheduler.schedule(() -> finish(started), length.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Started JFR recording {} for {}", file.getFileName(), length);
+        return started.status();
+    }
+
+    public synchronized Optional<JfrStatus> status() {
+        return Optional.ofNullable(session).map(Session::status);
+    }
+
+    /**
+     * The finished recording named {@code fileName}, if it is the latest one.
+     */
+    public synchronized Optional<Path> recording(String fileName) {
+        if (session == null || session.state != JfrStatus.State.DONE
+                || !session.file.getFileName().toString().equals(fileName)) {
+            return Optional.empty();
+        }
+        return Optional.of(session.file);
+    }
+
+    private void finish(Session finishing) {
+        JfrSummary summary = null;
+        String error = null;
+        try (Recording recording = finishing.recording) {
+            recording.stop();
+            summary = JfrSummary.read(finishing.file, PACKAGE, properties.topFrames());
+        } catch (IOException | RuntimeException e) {
+            log.warn("JFR recording {} failed", finishing.file.getFileName(), e);
+            error = e.getMessage();
+        }
+        synchronized (this) {
+            finishing.summary = summary;
+            finishing.error = error;
+            finishing.state = error == null ? JfrStatus.State.DONE : JfrStatus.State.FAILED;
+        }
+        log.info("Finished JFR recording {}", finishing.file.getFileName());
+    }
+
+    static Map<String, String> settings() {
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(SETTINGS);
+            return settings;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("The JDK's default JFR configuration is not available", e);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        scheduler.shutdownNow();
+        if (session != null) {
+            session.recording.close();
+            deleteQuietly(session.file);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete old JFR recording {}", file, e);
+        }
+    }
+
+    private static final class Session {
+
+        private final Recording recording;
+        private final Path file;
+        private final Instant startedAt;
+        private final Instant endsAt;
+        private JfrStatus.State state = JfrStatus.State.RECORDING;
+        private JfrSummary summary;
+        private String error;
+
+        private Session(Recording recording, Path file, Instant startedAt, Instant endsAt) {
+            this.recording = recording;
+            this.file = file;
+            this.startedAt = startedAt;
+            this.endsAt = endsAt;
+        }
+
+        private JfrStatus status() {
+            return new JfrStatus(state, file.getFileName().toString(), startedAt, endsAt, summary, error);
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.marcos.products_service.profiling;
+
+import java.time.Instant;
+
+/**
+ * The latest recording as reported by the {@code jfr} actuator endpoint.
+ *
+ * @param file    name to download the finished recording with, from {@code /actuator/jfr/<file>}
+ * @param summary set once the recording is {@link State#DONE}
+ * @param error   why the recording {@link State#FAILED}
+ */
+public record JfrStatus(State state, String file, Instant startedAt, Instant endsAt, JfrSummary summary,
+                        String error) {
+
+    public enum State {
+        RECORDING, DONE, FAILED
+    }
+
+}
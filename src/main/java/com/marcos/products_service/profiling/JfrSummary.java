@@ -0,0 +1,96 @@
+package com.marcos.products_service.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where a recording spent CPU and allocated memory in this service's own
+ * code. Each sample is charged to the innermost frame of a class under
+ * {@code packagePrefix}, so time spent in a library is charged to the
+ * service method that called it. Samples without such a frame are only
+ * counted in the totals.
+ *
+ * @param cpuSamples        execution samples in the recording
+ * @param allocatedBytes    bytes allocated according to the allocation samples
+ * @param cpu               methods with the most execution samples
+ * @param allocation        methods with the most sampled allocation
+ */
+public record JfrSummary(long cpuSamples, long allocatedBytes, List<CpuFrame> cpu,
+                         List<AllocationFrame> allocation) {
+
+    static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    public record CpuFrame(String method, long samples) {
+    }
+
+    public record AllocationFrame(String method, long bytes) {
+    }
+
+    /**
+     * Reads {@code recording} one event at a time, so memory use depends on
+     * the number of distinct methods, not the size of the file.
+     */
+    static JfrSummary read(Path recording, String packagePrefix, int topFrames) throws IOException {
+        Map<String, Long> cpu = new HashMap<>();
+        Map<String, Long> allocation = new HashMap<>();
+        long cpuSamples = 0;
+        long allocatedBytes = 0;
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String type = event.getEventType().getName();
+                if (EXECUTION_SAMPLE.equals(type)) {
+                    cpuSamples++;
+                    String method = applicationFrame(event.getStackTrace(), packagePrefix);
+                    if (method != null) {
+                        cpu.merge(method, 1L, Long::sum);
+                    }
+                } else if (ALLOCATION_SAMPLE.equals(type)) {
+                    long weight = event.getLong("weight");
+                    allocatedBytes += weight;
+                    String method = applicationFrame(event.getStackTrace(), packagePrefix);
+                    if (method != null) {
+                        allocation.merge(method, weight, Long::sum);
+                    }
+                }
+            }
+        }
+        return new JfrSummary(cpuSamples, allocatedBytes,
+                top(cpu, topFrames).stream().map(e -> new CpuFrame(e.getKey(), e.getValue())).toList(),
+                top(allocation, topFrames).stream().map(e -> new AllocationFrame(e.getKey(), e.getValue())).toList());
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace, String packagePrefix) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame()) {
+                String type = frame.getMethod().getType().getName();
+                if (type.startsWith(packagePrefix)) {
+                    return type + "." + frame.getMethod().getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Map.Entry<String, Long>> top(Map<String, Long> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+    }
+
+}
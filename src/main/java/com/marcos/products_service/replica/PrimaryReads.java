@@ -0,0 +1,66 @@
+package com.marcos.products_service.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the current thread's read-only transactions to the primary instead
+ * of a replica, for reads that must see the latest committed writes.
+ *
+ * <pre>{@code
+ * try (PrimaryReads.Pin pin = PrimaryReads.pin()) {
+ *     ...
+ * }
+ * }</pre>
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Pins reads to the primary until the returned pin is closed, on this
+     * thread.
+     */
+    public static Pin pin() {
+        boolean previous = isPinned();
+        PINNED.set(Boolean.TRUE);
+        return new Pin(previous);
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        try (Pin pin = pin()) {
+            return reads.get();
+        }
+    }
+
+    public static final class Pin implements AutoCloseable {
+
+        private final boolean previous;
+        private boolean closed;
+
+        private Pin(boolean previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Restores what was pinned before. Closing twice does nothing.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (!previous) {
+                PINNED.remove();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.marcos.products_service.replica;
+
+import com.marcos.products_service.config.ProductReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections to the replicas in rotation, round-robin, falling
+ * back to the primary when none is in rotation or reads are pinned to it
+ * with {@link PrimaryReads}.
+ *
+ * <p>Replicas start out of rotation. {@link #check()} admits each one that
+ * answers and is at most {@code maxLag} behind the primary, and takes out
+ * the others; it runs every {@code products.replicas.check-interval} once
+ * {@link #start(Duration)} is called. A replica that fails to hand out a
+ * connection is taken out at once, and the read moves on to the next one.</p>
+ */
+@Slf4j
+public class ReadReplicas extends AbstractDataSource implements Closeable {
+
+    /**
+     * Seconds since the last replayed transaction, or zero once everything
+     * received is replayed, so an idle primary doesn't look like lag. A
+     * server that is not a replica answers zero as well.
+     */
+    static final String LAG_QUERY = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END""";
+
+    static final String IN_ROTATION = "products.replicas.in-rotation";
+    static final String LAG = "products.replicas.lag";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final int checkTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile List<Replica> inRotation = List.of();
+
+    ReadReplicas(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, Duration checkTimeout,
+                 MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("products.replicas.urls must name at least one replica");
+        }
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.checkTimeoutSeconds = (int) Math.max(1, checkTimeout.toSeconds());
+        Gauge.builder(IN_ROTATION, this, readReplicas -> readReplicas.inRotation.size())
+                .description("Read replicas currently serving read-only transactions")
+                .register(meterRegistry);
+        this.replicas.forEach(replica -> Gauge.builder(LAG, replica, Replica::lagSeconds)
+                .description("Replication lag of a read replica as of its last check")
+                .baseUnit("seconds")
+                .tag("replica", replica.name)
+                .register(meterRegistry));
+    }
+
+    /**
+     * A pool of read-only connections per URL in {@code properties}, logging
+     * in as the primary unless told otherwise.
+     */
+    public static ReadReplicas create(DataSource primary, ProductReplicaProperties properties,
+                                      DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (String url : properties.urls()) {
+            String name = "replica-" + (pools.size() + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(url);
+            pool.setUsername(properties.username() != null
+                    ? properties.username() : dataSourceProperties.determineUsername());
+            pool.setPassword(properties.password() != null
+                    ? properties.password() : dataSourceProperties.determinePassword());
+            pool.setMaximumPoolSize(properties.maximumPoolSize());
+            pool.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(name, pool);
+        }
+        return new ReadReplicas(primary, pools, properties.maxLag(), properties.connectionTimeout(), meterRegistry);
+    }
+
+    /**
+     * Checks the replicas now and then every {@code interval}.
+     */
+    public void start(Duration interval) {
+        checker.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PrimaryReads.isPinned()) {
+            return primary.getConnection();
+        }
+        List<Replica> candidates = inRotation;
+        int first = next.getAndIncrement();
+        for (int i = 0; i < candidates.size(); i++) {
+            Replica replica = candidates.get(Math.floorMod(first + i, candidates.size()));
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                takeOut(replica, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Read replicas only hand out connections for their configured login");
+    }
+
+    /**
+     * Measures every replica's lag and updates the rotation to match.
+     */
+    void check() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(checkTimeoutSeconds);
+                try (ResultSet lag = statement.executeQuery(LAG_QUERY)) {
+                    lag.next();
+                    replica.lagSeconds = lag.getDouble(1);
+                }
+            } catch (SQLException | RuntimeException e) {
+                takeOut(replica, e.getMessage());
+                continue;
+            }
+            if (replica.lagSeconds > maxLagSeconds) {
+                takeOut(replica, "lagging " + replica.lagSeconds + "s behind the primary");
+            } else {
+                bringIn(replica);
+            }
+        }
+    }
+
+    List<String> inRotation() {
+        return inRotation.stream().map(replica -> replica.name).toList();
+    }
+
+    private synchronized void takeOut(Replica replica, String reason) {
+        if (replica.inRotation) {
+            replica.inRotation = false;
+            rotate();
+            log.warn("Took read replica {} out of rotation: {}", replica.name, reason);
+        }
+    }
+
+    private synchronized void bringIn(Replica replica) {
+        if (!replica.inRotation) {
+            replica.inRotation = true;
+            rotate();
+            log.info("Read replica {} is in rotation, {}s behind the primary", replica.name, replica.lagSeconds);
+        }
+    }
+
+    private void rotate() {
+        List<Replica> rotation = new ArrayList<>();
+        for (Replica replica : replicas) {
+            if (replica.inRotation) {
+                rotation.add(replica);
+            }
+        }
+        inRotation = List.copyOf(rotation);
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close read replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean inRotation;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private double lagSeconds() {
+            return lagSeconds;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.marcos.products_service.replica;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Lets a client read its own writes although replicas lag behind.
+ *
+ * <p>Every request that may write is answered with a {@value #HEADER} token,
+ * the time until which its change might not have reached every replica, and
+ * reads from the primary itself. A client that sends the token back on its
+ * next requests has them read from the primary too until then. Tokens are
+ * not tied to a node, and one claiming more than the pin window is ignored,
+ * so a forged token can't pin a client for longer than a real one.</p>
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private static final String PIN_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".pin";
+
+    private final Duration pinAfterWrite;
+    private final Clock clock;
+
+    public ReadYourWritesInterceptor(Duration pinAfterWrite) {
+        this(pinAfterWrite, Clock.systemUTC());
+    }
+
+    ReadYourWritesInterceptor(Duration pinAfterWrite, Clock clock) {
+        this.pinAfterWrite = pinAfterWrite;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        long now = clock.millis();
+        if (isWrite(request)) {
+            response.setHeader(HEADER, Long.toString(now + pinAfterWrite.toMillis()));
+            request.setAttribute(PIN_ATTRIBUTE, PrimaryReads.pin());
+        } else if (isPinned(request.getHeader(HEADER), now)) {
+            request.setAttribute(PIN_ATTRIBUTE, PrimaryReads.pin());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        unpin(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        unpin(request);
+    }
+
+    private static void unpin(HttpServletRequest request) {
+        if (request.getAttribute(PIN_ATTRIBUTE) instanceof PrimaryReads.Pin pin) {
+            request.removeAttribute(PIN_ATTRIBUTE);
+            pin.close();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)
+                && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private boolean isPinned(String token, long now) {
+        if (token == null) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(token.trim());
+            return until > now && until <= now + pinAfterWrite.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+}
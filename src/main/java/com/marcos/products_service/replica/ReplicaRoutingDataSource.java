@@ -0,0 +1,48 @@
+package com.marcos.products_service.replica;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The application's {@code DataSource}: a connection is only taken from a
+ * pool when its first statement runs, by which time the transaction has
+ * said whether it is read-only. Read-only transactions then go to the
+ * {@link ReadReplicas}, when there are any, and everything else to the
+ * primary. A transaction that never runs a statement, such as a read
+ * answered from the cache, takes no connection at all.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final ReadReplicas readReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicas readReplicas) {
+        super(primary);
+        this.readReplicas = readReplicas;
+        if (readReplicas != null) {
+            setReadOnlyDataSource(readReplicas);
+        }
+    }
+
+    /**
+     * Closes the replicas and the primary pool, which Spring only knows
+     * through this wrapper.
+     */
+    @Override
+    public void close() {
+        if (readReplicas != null) {
+            readReplicas.close();
+        }
+        if (getTargetDataSource() instanceof Closeable primary) {
+            try {
+                primary.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+}
@@ -1,9 +1,83 @@
 package com.marcos.products_service.repository;
 
 import com.marcos.products_service.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
+
+    /**
+     * Rows pulled per round trip while streaming. PgJDBC only honours the
+     * fetch size inside a transaction, so callers must hold one open while
+     * consuming the stream.
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllOrderById();
+
+    /**
+     * Loads all products with the given ids in one statement. The ids travel
+     * as a single array parameter, so every list size shares one prepared
+     * statement, unlike the {@code IN (?, ?, ...)} of {@link #findAllById}.
+     */
+    @Query(value = "SELECT id, name, price, description, version FROM products WHERE id = ANY(:ids)",
+            nativeQuery = true)
+    List<Product> findAllByIdArray(Long[] ids);
+
+    /**
+     * Reads just the version, which is all a conditional GET needs to decide
+     * between {@code 304 Not Modified} and a full response.
+     */
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Overwrites a product only if it is still at {@code version}, without
+     * loading it first. Returns the number of rows updated, so {@code 0}
+     * means the product is missing or has moved on.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Product p
+               SET p.name = :name, p.price = :price, p.description = :description, p.version = p.version + 1
+             WHERE p.id = :id AND p.version = :version""")
+    int updateIfVersion(Long id, long version, String name, double price, String description);
+
+    /**
+     * Overwrites a product and returns its new state in the same round trip,
+     * or nothing if there is no product with that id.
+     */
+    @Query(value = """
+            UPDATE products
+               SET name = :name, price = :price, description = :description, version = version + 1
+             WHERE id = :id
+            RETURNING id, name, price, description, version""", nativeQuery = true)
+    Optional<Product> updateReturning(Long id, String name, double price, String description);
+
+    /**
+     * Deletes without loading the entity first, unlike {@link #deleteById}.
+     * Returns the number of rows deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id = :id")
+    int removeById(Long id);
+
 }
@@ -0,0 +1,29 @@
+package com.marcos.products_service.repository;
+
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSearchCursor;
+import com.marcos.products_service.dto.ProductSearchHit;
+import com.marcos.products_service.model.Product;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Applies {@code patch} with an {@code UPDATE} that sets only the patched
+     * columns and returns the product's new state. When
+     * {@code expectedVersion} is given the row is only updated if it is still
+     * at that version. Returns nothing if no row was updated.
+     */
+    Optional<Product> patchReturning(Long id, ProductPatch patch, Long expectedVersion);
+
+    /**
+     * Finds products whose {@code search_vector} matches {@code query}, parsed
+     * with {@code websearch_to_tsquery} in text search configuration
+     * {@code config}. Hits come best ranked first, ties broken by id, starting
+     * after {@code after} when given.
+     */
+    List<ProductSearchHit> search(String config, String query, ProductSearchCursor after, int limit);
+
+}
@@ -0,0 +1,91 @@
+package com.marcos.products_service.repository;
+
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSearchCursor;
+import com.marcos.products_service.dto.ProductSearchHit;
+import com.marcos.products_service.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    /**
+     * Ranks every match: name terms weigh 'A' and description terms 'B' in the
+     * generated column, so a hit in the name outranks one in the description.
+     */
+    private static final String SEARCH = """
+            SELECT p.id, p.name, p.price, p.description, p.version, ts_rank(p.search_vector, q) AS rank
+              FROM products p, websearch_to_tsquery(CAST(?1 AS regconfig), ?2) q
+             WHERE p.search_vector @@ q""";
+
+    private static final String SEARCH_FIRST_PAGE = SEARCH + """
+
+             ORDER BY rank DESC, p.id
+             LIMIT ?3""";
+
+    private static final String SEARCH_AFTER = "SELECT * FROM (" + SEARCH + """
+            ) hits
+             WHERE hits.rank < ?4 OR (hits.rank = ?4 AND hits.id > ?5)
+             ORDER BY hits.rank DESC, hits.id
+             LIMIT ?3""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Product> patchReturning(Long id, ProductPatch patch, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE products SET ");
+        List<Object> parameters = new ArrayList<>();
+        // Column names come from ProductPatch's fixed attribute set, never from the request
+        patch.changes().forEach((column, value) -> {
+            if (value == null) {
+                // An untyped null parameter would be bound as bytea
+                sql.append(column).append(" = NULL, ");
+            } else {
+                sql.append(column).append(" = ?, ");
+                parameters.add(value);
+            }
+        });
+        sql.append("version = version + 1 WHERE id = ?");
+        parameters.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            parameters.add(expectedVersion);
+        }
+        sql.append(" RETURNING id, name, price, description, version");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Product.class);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        List<Product> rows = query.getResultList();
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProductSearchHit> search(String config, String query, ProductSearchCursor after, int limit) {
+        Query search = entityManager.createNativeQuery(after == null ? SEARCH_FIRST_PAGE : SEARCH_AFTER)
+                .setParameter(1, config)
+                .setParameter(2, query)
+                .setParameter(3, limit);
+        if (after != null) {
+            search.setParameter(4, after.rank())
+                    .setParameter(5, after.id());
+        }
+        List<Object[]> rows = search.getResultList();
+        return rows.stream()
+                .map(row -> new ProductSearchHit(
+                        new Product(((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).doubleValue(),
+                                (String) row[3], ((Number) row[4]).longValue()),
+                        ((Number) row[5]).floatValue()))
+                .toList();
+    }
+
+}
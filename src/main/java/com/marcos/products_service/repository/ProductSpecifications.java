@@ -0,0 +1,82 @@
+package com.marcos.products_service.repository;
+
+import com.marcos.products_service.dto.ProductCursor;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.model.Product;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ProductSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Restricts products to {@code filter}. The price bounds use the
+     * {@code (price, id)} index and {@code nameContains} becomes an
+     * {@code ILIKE '%...%'} served by the trigram index on name.
+     */
+    public static Specification<Product> matching(ProductFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(3);
+            Path<Double> price = root.get("price");
+            if (filter.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(price, filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(price, filter.maxPrice()));
+            }
+            if (filter.nameContains() != null) {
+                predicates.add(((HibernateCriteriaBuilder) cb).ilike(root.get("name"),
+                        "%" + escapeLike(filter.nameContains()) + "%", LIKE_ESCAPE));
+            }
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Seeks past the row identified by {@code cursor} in the cursor's sort order.
+     * For compound keys the predicate is written as
+     * {@code key >= :key AND (key > :key OR id > :id)} so the leading column
+     * still bounds an index range scan on {@code (key, id)}.
+     */
+    public static Specification<Product> after(ProductCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            Path<Long> id = root.get("id");
+            return switch (cursor.sort()) {
+                case ID -> cb.greaterThan(id, cursor.id());
+                case PRICE -> {
+                    Path<Double> price = root.get("price");
+                    double value = cursor.priceValue();
+                    yield cb.and(
+                            cb.greaterThanOrEqualTo(price, value),
+                            cb.or(cb.greaterThan(price, value), cb.greaterThan(id, cursor.id())));
+                }
+                case NAME -> {
+                    Path<String> name = root.get("name");
+                    String value = cursor.value();
+                    yield cb.and(
+                            cb.greaterThanOrEqualTo(name, value),
+                            cb.or(cb.greaterThan(name, value), cb.greaterThan(id, cursor.id())));
+                }
+            };
+        };
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+}
@@ -0,0 +1,324 @@
+package com.marcos.products_service.repository;
+
+import com.marcos.products_service.dto.ProductCursor;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSearchCursor;
+import com.marcos.products_service.dto.ProductSearchHit;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.model.Product;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The statements of {@link ProductRepository} over R2DBC, for the reactive
+ * stack. Prices are bound as {@link BigDecimal} like the entity binds them,
+ * so predicates on the DECIMAL column keep using its indexes.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "id, name, price, description, version";
+
+    private static final String SEARCH = """
+            SELECT p.id, p.name, p.price, p.description, p.version, ts_rank(p.search_vector, q) AS rank
+              FROM products p, websearch_to_tsquery(CAST(:config AS regconfig), :query) q
+             WHERE p.search_vector @@ q""";
+
+    private static final String SEARCH_FIRST_PAGE = SEARCH + """
+
+             ORDER BY rank DESC, p.id
+             LIMIT :limit""";
+
+    private static final String SEARCH_AFTER = "SELECT * FROM (" + SEARCH + """
+            ) hits
+             WHERE hits.rank < :rank OR (hits.rank = :rank AND hits.id > :id)
+             ORDER BY hits.rank DESC, hits.id
+             LIMIT :limit""";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Up to {@code limit} products matching {@code filter} past {@code after}
+     * in {@code sort} order, with the same predicates as
+     * {@link ProductSpecifications} so the same indexes serve them.
+     */
+    public Flux<Product> findPage(ProductSort sort, ProductFilter filter, ProductCursor after, int limit) {
+        List<String> predicates = new ArrayList<>(4);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (filter.minPrice() != null) {
+            predicates.add("price >= :minPrice");
+            parameters.put("minPrice", BigDecimal.valueOf(filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            predicates.add("price <= :maxPrice");
+            parameters.put("maxPrice", BigDecimal.valueOf(filter.maxPrice()));
+        }
+        if (filter.nameContains() != null) {
+            predicates.add("name ILIKE :nameContains");
+            parameters.put("nameContains", "%" + ProductSpecifications.escapeLike(filter.nameContains()) + "%");
+        }
+        if (after != null) {
+            parameters.put("afterId", after.id());
+            switch (after.sort()) {
+                case ID -> predicates.add("id > :afterId");
+                case PRICE -> {
+                    predicates.add("price >= :afterPrice AND (price > :afterPrice OR id > :afterId)");
+                    parameters.put("afterPrice", BigDecimal.valueOf(after.priceValue()));
+                }
+                case NAME -> {
+                    predicates.add("name >= :afterName AND (name > :afterName OR id > :afterId)");
+                    parameters.put("afterName", after.value());
+                }
+            }
+        }
+        parameters.put("limit", limit);
+
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM products");
+        if (!predicates.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        sql.append(" ORDER BY ").append(sort == ProductSort.ID ? "id" : sort.getParameter() + ", id");
+        sql.append(" LIMIT :limit");
+        return databaseClient.sql(sql.toString())
+                .bindValues(parameters)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Mono<Product> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toProduct)
+                .one();
+    }
+
+    public Mono<Long> findVersionById(Long id) {
+        return databaseClient.sql("SELECT version FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    /**
+     * Loads all products with the given ids in one statement, the ids bound
+     * as a single array like {@link ProductRepository#findAllByIdArray}.
+     */
+    public Flux<Product> findAllByIdArray(Long[] ids) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM products WHERE id = ANY(:ids)")
+                .bind("ids", ids)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    /**
+     * Every product in id order, {@code fetchSize} rows per round trip so
+     * rows are only read as fast as they are consumed. Postgres keeps the
+     * portal open only inside a transaction.
+     */
+    public Flux<Product> streamAllOrderById(int fetchSize) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM products ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Flux<ProductSearchHit> search(String config, String query, ProductSearchCursor after, int limit) {
+        GenericExecuteSpec search = databaseClient.sql(after == null ? SEARCH_FIRST_PAGE : SEARCH_AFTER)
+                .bind("config", config)
+                .bind("query", query)
+                .bind("limit", limit);
+        if (after != null) {
+            search = search.bind("rank", after.rank()).bind("id", after.id());
+        }
+        return search.map(row -> new ProductSearchHit(toProduct(row), row.get("rank", Float.class))).all();
+    }
+
+    /**
+     * Inserts a product, its id taken from the column's sequence default
+     * like any plain INSERT.
+     */
+    public Mono<Product> insert(ProductDTO productDTO) {
+        GenericExecuteSpec insert = databaseClient.sql("""
+                        INSERT INTO products (name, price, description)
+                        VALUES (:name, :price, :description)
+                        RETURNING id, name, price, description, version""")
+                .bind("name", productDTO.getName())
+                .bind("price", BigDecimal.valueOf(productDTO.getPrice()));
+        return bindNullable(insert, "description", productDTO.getDescription(), String.class)
+                .map(ReactiveProductRepository::toProduct)
+                .one();
+    }
+
+    /**
+     * Inserts all products in one statement, the columns bound as arrays.
+     * Ids are taken from {@code products_id_seq} in blocks of
+     * {@link Product#ID_ALLOCATION_SIZE}, the same way Hibernate's pooled
+     * optimizer does, so a block is one sequence call rather than one per
+     * row. Products come back in id order, which is the order given.
+     */
+    public Flux<Product> insertAll(List<ProductDTO> productDTOs) {
+        int blocks = (productDTOs.size() + Product.ID_ALLOCATION_SIZE - 1) / Product.ID_ALLOCATION_SIZE;
+        return reserveIdBlocks(blocks)
+                .collectList()
+                .flatMapMany(his -> {
+                    int size = productDTOs.size();
+                    Long[] ids = new Long[size];
+                    String[] names = new String[size];
+                    BigDecimal[] prices = new BigDecimal[size];
+                    String[] descriptions = new String[size];
+                    for (int i = 0; i < size; i++) {
+                        ProductDTO productDTO = productDTOs.get(i);
+                        long hi = his.get(i / Product.ID_ALLOCATION_SIZE);
+                        ids[i] = hi - Product.ID_ALLOCATION_SIZE + 1 + i % Product.ID_ALLOCATION_SIZE;
+                        names[i] = productDTO.getName();
+                        prices[i] = BigDecimal.valueOf(productDTO.getPrice());
+                        descriptions[i] = productDTO.getDescription();
+                    }
+                    return databaseClient.sql("""
+                                    INSERT INTO products (id, name, price, description)
+                                    SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:names AS text[]),
+                                                         CAST(:prices AS numeric[]), CAST(:descriptions AS text[]))
+                                    RETURNING id, name, price, description, version""")
+                            .bind("ids", ids)
+                            .bind("names", names)
+                            .bind("prices", prices)
+                            .bind("descriptions", descriptions)
+                            .map(ReactiveProductRepository::toProduct)
+                            .all()
+                            .sort((a, b) -> Long.compare(a.getId(), b.getId()));
+                });
+    }
+
+    /**
+     * The last id of each of {@code blocks} newly reserved id blocks, asking
+     * the sequence again for any value that can't end a block.
+     */
+    private Flux<Long> reserveIdBlocks(int blocks) {
+        if (blocks == 0) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT nextval('products_id_seq') AS hi FROM generate_series(1, :blocks)")
+                .bind("blocks", blocks)
+                .map(row -> row.get("hi", Long.class))
+                .all()
+                .filter(Product::endsIdBlock)
+                .collectList()
+                .flatMapMany(his -> Flux.fromIterable(his).concatWith(reserveIdBlocks(blocks - his.size())));
+    }
+
+    /**
+     * Overwrites a product and returns its new state in the same round trip,
+     * or nothing if there is no product with that id.
+     */
+    public Mono<Product> updateReturning(Long id, ProductDTO productDTO) {
+        GenericExecuteSpec update = databaseClient.sql("""
+                        UPDATE products
+                           SET name = :name, price = :price, description = :description, version = version + 1
+                         WHERE id = :id
+                        RETURNING id, name, price, description, version""")
+                .bind("id", id)
+                .bind("name", productDTO.getName())
+                .bind("price", BigDecimal.valueOf(productDTO.getPrice()));
+        return bindNullable(update, "description", productDTO.getDescription(), String.class)
+                .map(ReactiveProductRepository::toProduct)
+                .one();
+    }
+
+    /**
+     * Overwrites a product only if it is still at {@code version}. Returns
+     * the number of rows updated, so {@code 0} means the product is missing
+     * or has moved on.
+     */
+    public Mono<Long> updateIfVersion(Long id, long version, ProductDTO productDTO) {
+        GenericExecuteSpec update = databaseClient.sql("""
+                        UPDATE products
+                           SET name = :name, price = :price, description = :description, version = version + 1
+                         WHERE id = :id AND version = :version""")
+                .bind("id", id)
+                .bind("version", version)
+                .bind("name", productDTO.getName())
+                .bind("price", BigDecimal.valueOf(productDTO.getPrice()));
+        return bindNullable(update, "description", productDTO.getDescription(), String.class)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Writes only the patched columns, like
+     * {@link ProductRepositoryCustom#patchReturning}. Nothing comes back if
+     * the product is missing or not at {@code expectedVersion}.
+     */
+    public Mono<Product> patchReturning(Long id, ProductPatch patch, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE products SET ");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        // Column names come from ProductPatch's fixed attribute set, never from the request
+        patch.changes().forEach((column, value) -> {
+            if (value == null) {
+                sql.append(column).append(" = NULL, ");
+            } else {
+                sql.append(column).append(" = :").append(column).append(", ");
+                parameters.put(column, value instanceof Double price ? BigDecimal.valueOf(price) : value);
+            }
+        });
+        sql.append("version = version + 1 WHERE id = :id");
+        parameters.put("id", id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+            parameters.put("version", expectedVersion);
+        }
+        sql.append(" RETURNING ").append(COLUMNS);
+        return databaseClient.sql(sql.toString())
+                .bindValues(parameters)
+                .map(ReactiveProductRepository::toProduct)
+                .one();
+    }
+
+    /**
+     * Returns the number of rows deleted.
+     */
+    public Mono<Long> removeById(Long id) {
+        return databaseClient.sql("DELETE FROM products WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Sends a notification on {@code channel}, as
+     * {@code ProductChangeNotifier} does for the servlet stack.
+     */
+    public Mono<Void> publishChange(String channel, String payload) {
+        return databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", channel)
+                .bind("payload", payload)
+                .then();
+    }
+
+    private static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, Object value,
+                                                   Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Product toProduct(Readable row) {
+        return new Product(row.get("id", Long.class), row.get("name", String.class),
+                row.get("price", BigDecimal.class).doubleValue(), row.get("description", String.class),
+                row.get("version", Long.class));
+    }
+
+}
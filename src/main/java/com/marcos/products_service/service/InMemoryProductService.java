@@ -0,0 +1,122 @@
+package com.marcos.products_service.service;
+
+import com.marcos.products_service.catalog.ProductCatalog;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.dto.ProductSuggestion;
+import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Serves reads from the in-memory {@link ProductCatalog} and hands writes to
+ * {@link ProductServiceImpl}, whose committed changes flow back into the
+ * catalog. Only active with {@code products.catalog.enabled=true}.
+ *
+ * <p>The export keeps streaming from the database: it is consumed at the
+ * client's pace and would otherwise hold the catalog's read lock for as
+ * long as the download takes.</p>
+ */
+@Service
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "products.catalog", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class InMemoryProductService implements ProductService {
+
+    private final ProductServiceImpl productService;
+    private final ProductCatalog productCatalog;
+
+    @Override
+    public Product createProduct(ProductDTO productDTO) {
+        return productService.createProduct(productDTO);
+    }
+
+    @Override
+    public List<Product> createProducts(List<ProductDTO> productDTOs) {
+        return productService.createProducts(productDTOs);
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return productCatalog.all();
+    }
+
+    @Override
+    public ProductPage getProducts(ProductSort sort, ProductFilter filter, String cursor, int limit) {
+        int pageSize = ProductServiceImpl.pageSize(limit);
+        List<Product> rows = productCatalog.page(sort, filter, ProductServiceImpl.after(sort, cursor), pageSize + 1);
+        return ProductPage.of(sort, rows, pageSize);
+    }
+
+    /**
+     * Searches the database: ranking needs the full-text index, which the
+     * catalog does not keep.
+     */
+    @Override
+    public ProductPage searchProducts(String query, String cursor, int limit) {
+        return productService.searchProducts(query, cursor, limit);
+    }
+
+    @Override
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        return productService.suggestProducts(prefix, limit);
+    }
+
+    @Override
+    public Optional<Product> getProductById(Long id) {
+        return productCatalog.get(id);
+    }
+
+    @Override
+    public Optional<Long> getProductVersion(Long id) {
+        return productCatalog.getVersion(id);
+    }
+
+    @Override
+    public ProductLookup getProductsByIds(List<Long> ids) {
+        return ProductServiceImpl.lookup(ProductServiceImpl.distinctIds(ids), productCatalog::get);
+    }
+
+    @Override
+    public void exportProducts(Consumer<Product> consumer) {
+        productService.exportProducts(consumer);
+    }
+
+    @Override
+    public Product updateProduct(Long id, ProductDTO productDTO) throws ProductNotFoundException {
+        return productService.updateProduct(id, productDTO);
+    }
+
+    @Override
+    public Product updateProduct(Long id, ProductDTO productDTO, long expectedVersion)
+            throws ProductNotFoundException {
+        return productService.updateProduct(id, productDTO, expectedVersion);
+    }
+
+    @Override
+    public Product patchProduct(Long id, ProductPatch patch) throws ProductNotFoundException {
+        return productService.patchProduct(id, patch);
+    }
+
+    @Override
+    public Product patchProduct(Long id, ProductPatch patch, long expectedVersion) throws ProductNotFoundException {
+        return productService.patchProduct(id, patch, expectedVersion);
+    }
+
+    @Override
+    public void deleteProduct(Long id) throws ProductNotFoundException {
+        productService.deleteProduct(id);
+    }
+
+}
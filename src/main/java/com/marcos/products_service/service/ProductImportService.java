@@ -0,0 +1,12 @@
+package com.marcos.products_service.service;
+
+import com.marcos.products_service.dto.ProductImportFormat;
+import com.marcos.products_service.dto.ProductImportReport;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ProductImportReport importProducts(InputStream input, ProductImportFormat format);
+
+}
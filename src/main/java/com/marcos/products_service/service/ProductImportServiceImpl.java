@@ -0,0 +1,272 @@
+package com.marcos.products_service.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.marcos.products_service.cache.ProductChangeNotifier;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductImportFormat;
+import com.marcos.products_service.dto.ProductImportReport;
+import com.marcos.products_service.exception.InvalidImportException;
+import com.marcos.products_service.model.Product;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads uploads through PostgreSQL's {@code COPY ... FROM STDIN}. Rows are
+ * parsed one at a time, validated with the {@link ProductDTO} constraints and
+ * copied into a temporary staging table; the staging table is merged into
+ * {@code products} only once the whole upload has been read, all inside one
+ * transaction, so a failed import leaves the catalog untouched.
+ */
+@Slf4j
+@Service
+@Profile("!reactive")
+public class ProductImportServiceImpl implements ProductImportService {
+
+    static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE products_import (
+                position BIGINT NOT NULL,
+                name TEXT NOT NULL,
+                price NUMERIC(10, 2) NOT NULL,
+                description TEXT
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_INTO_STAGING_TABLE =
+            "COPY products_import (position, name, price, description) FROM STDIN";
+
+    private static final String NEXT_ID_BLOCKS = "SELECT nextval('products_id_seq') FROM generate_series(1, ?)";
+
+    /*
+     * Ids are taken the way Hibernate's pooled optimizer takes them: every
+     * nextval() reserves the block (value - ID_ALLOCATION_SIZE, value], so one
+     * sequence call covers ID_ALLOCATION_SIZE staged rows. Positions are
+     * dense (0..n-1), which lets each row find its block by array index.
+     */
+    private static final String MERGE_STAGING_TABLE = """
+            INSERT INTO products (id, name, price, description)
+            SELECT blocks.last_ids[staged.position / %1$d + 1] - %1$d + 1 + staged.position %% %1$d,
+                   staged.name, staged.price, staged.description
+            FROM products_import staged, (SELECT CAST(? AS bigint[]) AS last_ids) blocks""".formatted(Product.ID_ALLOCATION_SIZE);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ProductChangeNotifier changeNotifier;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate, Validator validator, ObjectMapper objectMapper,
+                                    ProductChangeNotifier changeNotifier) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.changeNotifier = changeNotifier;
+        this.ndjsonReader = objectMapper.readerFor(ProductDTO.class);
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(ProductDTO.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    @Transactional
+    @Override
+    public ProductImportReport importProducts(InputStream input, ProductImportFormat format) {
+        long startedAt = System.nanoTime();
+        ProductImportReport report = jdbcTemplate.execute((ConnectionCallback<ProductImportReport>) connection -> {
+            execute(connection, CREATE_STAGING_TABLE);
+            Counts counts = copyIntoStagingTable(connection, input, format);
+            long imported = merge(connection, counts.staged);
+            changeNotifier.productsInserted(List.of());
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            return new ProductImportReport(imported, counts.rejected, elapsedMillis, counts.rejections);
+        });
+
+        log.info("Imported {} products ({} rejected) in {} ms, {} rows/s",
+                report.imported(), report.rejected(), report.elapsedMillis(), report.rowsPerSecond());
+        return report;
+    }
+
+    private Counts copyIntoStagingTable(Connection connection, InputStream input, ProductImportFormat format)
+            throws SQLException {
+        // On failure the surrounding transaction rolls back, dropping whatever was staged so far
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING_TABLE);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(copyIn, COPY_BUFFER_SIZE), StandardCharsets.UTF_8));
+             MappingIterator<ProductDTO> rows = reader(format).readValues(input)) {
+            return copyRows(rows, writer);
+        } catch (JsonParseException e) {
+            throw new InvalidImportException("Unreadable " + format + " upload: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes every valid row in COPY text format and collects the rest as
+     * rejections. Rows whose values cannot be bound to a {@link ProductDTO}
+     * are rejected too; only malformed syntax aborts the import.
+     */
+    Counts copyRows(MappingIterator<ProductDTO> rows, Writer writer) throws IOException {
+        Counts counts = new Counts();
+        StringBuilder line = new StringBuilder(256);
+        long record = 0;
+        while (true) {
+            ProductDTO row;
+            try {
+                if (!rows.hasNextValue()) {
+                    break;
+                }
+                record++;
+                row = rows.nextValue();
+            } catch (JsonMappingException e) {
+                String field = e.getPath().isEmpty() ? null : e.getPath().get(0).getFieldName();
+                counts.reject(record, field, e.getOriginalMessage());
+                continue;
+            }
+
+            if (!isValid(row, record, counts)) {
+                continue;
+            }
+
+            line.setLength(0);
+            line.append(counts.staged++).append('\t');
+            appendCopyValue(line, row.getName()).append('\t');
+            line.append(BigDecimal.valueOf(row.getPrice()).toPlainString()).append('\t');
+            appendCopyValue(line, row.getDescription()).append('\n');
+            writer.append(line);
+        }
+        return counts;
+    }
+
+    private boolean isValid(ProductDTO row, long record, Counts counts) {
+        if (row == null) {
+            counts.reject(record, null, "Row is empty");
+            return false;
+        }
+        if (!Double.isFinite(row.getPrice())) {
+            counts.reject(record, "price", "Product price must be a finite number");
+            return false;
+        }
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return true;
+        }
+        ConstraintViolation<ProductDTO> violation = violations.iterator().next();
+        counts.reject(record, violation.getPropertyPath().toString(), violation.getMessage());
+        return false;
+    }
+
+    private ObjectReader reader(ProductImportFormat format) {
+        return format == ProductImportFormat.CSV ? csvReader : ndjsonReader;
+    }
+
+    /**
+     * Escapes a value for COPY's text format, where {@code \N} is NULL and
+     * backslash, tab and line breaks must be backslash-escaped.
+     */
+    static StringBuilder appendCopyValue(StringBuilder line, String value) {
+        if (value == null) {
+            return line.append("\\N");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> line.append("\\\\");
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                default -> line.append(c);
+            }
+        }
+        return line;
+    }
+
+    private static int merge(Connection connection, long staged) throws SQLException {
+        Long[] lastIds = reserveIdBlocks(connection,
+                (staged + Product.ID_ALLOCATION_SIZE - 1) / Product.ID_ALLOCATION_SIZE);
+        try (PreparedStatement statement = connection.prepareStatement(MERGE_STAGING_TABLE)) {
+            statement.setArray(1, connection.createArrayOf("bigint", lastIds));
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * The last id of each of {@code blocks} newly reserved id blocks, asking
+     * the sequence again for any value that can't end a block.
+     */
+    private static Long[] reserveIdBlocks(Connection connection, long blocks) throws SQLException {
+        List<Long> lastIds = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_ID_BLOCKS)) {
+            while (lastIds.size() < blocks) {
+                statement.setLong(1, blocks - lastIds.size());
+                try (ResultSet values = statement.executeQuery()) {
+                    while (values.next()) {
+                        if (Product.endsIdBlock(values.getLong(1))) {
+                            lastIds.add(values.getLong(1));
+                        }
+                    }
+                }
+            }
+        }
+        return lastIds.toArray(Long[]::new);
+    }
+
+    private static int execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
+        }
+    }
+
+    static final class Counts {
+
+        long staged;
+        long rejected;
+        final List<ProductImportReport.Rejection> rejections = new ArrayList<>();
+
+        void reject(long record, String field, String detail) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(new ProductImportReport.Rejection(record, field, detail));
+            }
+        }
+
+    }
+
+}
@@ -1,22 +1,49 @@
 package com.marcos.products_service.service;
 
 import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.dto.ProductSuggestion;
 import com.marcos.products_service.exception.ProductNotFoundException;
 import com.marcos.products_service.model.Product;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     Product createProduct(ProductDTO productDTO);
 
+    List<Product> createProducts(List<ProductDTO> productDTOs);
+
     List<Product> getAllProducts();
 
+    ProductPage getProducts(ProductSort sort, ProductFilter filter, String cursor, int limit);
+
+    ProductPage searchProducts(String query, String cursor, int limit);
+
+    List<ProductSuggestion> suggestProducts(String prefix, int limit);
+
     Optional<Product> getProductById(Long id);
 
+    Optional<Long> getProductVersion(Long id);
+
+    ProductLookup getProductsByIds(List<Long> ids);
+
+    void exportProducts(Consumer<Product> consumer);
+
     Product updateProduct(Long id, ProductDTO productDTO) throws ProductNotFoundException;
 
+    Product updateProduct(Long id, ProductDTO productDTO, long expectedVersion) throws ProductNotFoundException;
+
+    Product patchProduct(Long id, ProductPatch patch) throws ProductNotFoundException;
+
+    Product patchProduct(Long id, ProductPatch patch, long expectedVersion) throws ProductNotFoundException;
+
     void deleteProduct(Long id) throws ProductNotFoundException;
 
 }
@@ -1,60 +1,381 @@
 package com.marcos.products_service.service;
 
+import com.marcos.products_service.cache.ProductCache;
+import com.marcos.products_service.cache.ProductChangeNotifier;
+import com.marcos.products_service.cache.ProductRequestCoalescer;
+import com.marcos.products_service.catalog.ProductAutocomplete;
+import com.marcos.products_service.config.ProductBatchProperties;
+import com.marcos.products_service.config.ProductSearchProperties;
+import com.marcos.products_service.dto.ProductCursor;
 import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSearchCursor;
+import com.marcos.products_service.dto.ProductSearchHit;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.dto.ProductSuggestion;
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import com.marcos.products_service.exception.InvalidProductPatchException;
 import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.exception.ProductVersionMismatchException;
 import com.marcos.products_service.model.Product;
 import com.marcos.products_service.repository.ProductRepository;
+import com.marcos.products_service.repository.ProductSpecifications;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+/**
+ * Every database call runs behind the {@value #CIRCUIT_BREAKER} circuit
+ * breaker and one of two bulkheads, {@value #READS} or {@value #WRITES},
+ * so that a slow database fills the bulkheads and is then cut off instead
+ * of piling requests up on Tomcat threads and Hikari connections. The
+ * bulkhead is taken before the transaction and its connection, and sized
+ * in {@code application.properties} to share the pool between reads and
+ * writes.
+ *
+ * <p>Reads run in read-only transactions, which go to a read replica when
+ * {@code products.replicas} are configured. Their connection is only taken
+ * once a statement runs, so reads answered from the cache take none.</p>
+ */
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    static final String READS = "productReads";
+    static final String WRITES = "productWrites";
+    static final String CIRCUIT_BREAKER = "productRepository";
+
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    static final int MAX_LOOKUP_IDS = 500;
+
+    private static final Object ALL = new Object();
+
     private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ProductBatchProperties batchProperties;
+    private final ProductCache productCache;
+    private final ProductChangeNotifier changeNotifier;
+    private final Validator validator;
+    private final ProductSearchProperties searchProperties;
+    private final ProductAutocomplete autocomplete;
+    private final ProductRequestCoalescer coalescer;
 
+    @Bulkhead(name = WRITES)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
     public Product createProduct(ProductDTO productDTO) {
-        Product product = Product.builder()
-                .name(productDTO.getName())
-                .price(productDTO.getPrice())
-                .description(productDTO.getDescription())
-                .build();
-        return productRepository.save(product);
+        Product created = productRepository.save(toProduct(productDTO));
+        changeNotifier.productSaved(created);
+        return created;
     }
 
+    /**
+     * Inserts all products in one transaction, {@code products.batch.size}
+     * rows per JDBC batch. Each chunk is flushed and evicted before the next
+     * one is built so the persistence context never holds more than a batch.
+     */
+    @Bulkhead(name = WRITES)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional
+    @Override
+    public List<Product> createProducts(List<ProductDTO> productDTOs) {
+        int batchSize = Math.max(batchProperties.size(), 1);
+        List<Product> created = new ArrayList<>(productDTOs.size());
+        for (int from = 0; from < productDTOs.size(); from += batchSize) {
+            List<Product> chunk = productDTOs.subList(from, Math.min(from + batchSize, productDTOs.size())).stream()
+                    .map(this::toProduct)
+                    .toList();
+            created.addAll(productRepository.saveAll(chunk));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        changeNotifier.productsInserted(created);
+        return created;
+    }
+
+    @Bulkhead(name = READS)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return coalescer.execute("all", ALL, productRepository::findAll);
+    }
+
+    /**
+     * Concurrent requests for the same page share one query.
+     */
+    @Bulkhead(name = READS)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional(readOnly = true)
+    @Override
+    public ProductPage getProducts(ProductSort sort, ProductFilter filter, String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        Specification<Product> page = ProductSpecifications.matching(filter)
+                .and(ProductSpecifications.after(after(sort, cursor)));
+        return coalescer.execute("page", new PageKey(sort, filter, cursor, pageSize), () -> {
+            List<Product> rows = productRepository.findBy(page,
+                    query -> query.sortBy(sort.toSort()).limit(pageSize + 1).all());
+            return ProductPage.of(sort, rows, pageSize);
+        });
+    }
+
+    /**
+     * Ranked full-text search over name and description, backed by the GIN
+     * index on {@code search_vector}. {@code query} uses web search syntax:
+     * quoted phrases, {@code or} and {@code -excluded} terms.
+     */
+    @Bulkhead(name = READS)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional(readOnly = true)
+    @Override
+    public ProductPage searchProducts(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidPageRequestException("q", "Search query cannot be blank");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidPageRequestException("q",
+                    "Search query cannot be longer than " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int pageSize = pageSize(limit);
+        ProductSearchCursor after = cursor == null || cursor.isBlank() ? null : ProductSearchCursor.decode(cursor);
+        return coalescer.execute("search", new SearchKey(query, cursor, pageSize), () -> {
+            List<ProductSearchHit> hits =
+                    productRepository.search(searchProperties.config(), query, after, pageSize + 1);
+            return ProductPage.ofHits(hits, pageSize);
+        });
     }
 
+    /**
+     * Completes a product name from the in-memory {@link ProductAutocomplete}
+     * index, ignoring case and accents.
+     */
+    @Override
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidPageRequestException("q", "Autocomplete prefix cannot be blank");
+        }
+        return autocomplete.suggest(prefix, limit);
+    }
+
+    @Bulkhead(name = READS)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional(readOnly = true)
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        return productCache.get(id, productRepository::findById);
+    }
+
+    @Bulkhead(name = READS)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<Long> getProductVersion(Long id) {
+        return productCache.getVersion(id,
+                key -> coalescer.execute("version", key, () -> productRepository.findVersionById(key)));
+    }
+
+    /**
+     * Serves cached ids from the {@link ProductCache} and loads all the
+     * others in a single query.
+     */
+    @Bulkhead(name = READS)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional(readOnly = true)
+    @Override
+    public ProductLookup getProductsByIds(List<Long> ids) {
+        List<Long> distinctIds = distinctIds(ids);
+        Map<Long, Optional<Product>> found = productCache.getAll(distinctIds,
+                misses -> productRepository.findAllByIdArray(misses.toArray(Long[]::new)));
+        return lookup(distinctIds, id -> found.getOrDefault(id, Optional.empty()));
+    }
+
+    /**
+     * Hands every product to {@code consumer} in id order while the rows are
+     * still being read from the database cursor. Each entity is detached once
+     * consumed so the persistence context stays empty however large the table is.
+     * Not behind a bulkhead or the circuit breaker: an export holds its
+     * connection for as long as the client keeps reading.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void exportProducts(Consumer<Product> consumer) {
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product);
+            });
+        }
     }
 
+    /**
+     * Overwrites the product with a single {@code UPDATE ... RETURNING}; no
+     * row back means there was no product to update.
+     */
+    @Bulkhead(name = WRITES)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
     @Transactional
     @Override
     public Product updateProduct(Long id, ProductDTO productDTO) throws ProductNotFoundException {
-        Product existing = productRepository.findById(id)
+        Product saved = productRepository.updateReturning(id,
+                        productDTO.getName(), productDTO.getPrice(), productDTO.getDescription())
                 .orElseThrow(() -> new ProductNotFoundException(id));
+        changeNotifier.productSaved(saved);
+        return saved;
+    }
 
-        Product updated = existing.toBuilder()
-                .name(productDTO.getName())
-                .price(productDTO.getPrice())
-                .description(productDTO.getDescription())
-                .build();
+    /**
+     * Updates the product in a single statement guarded by its version, so
+     * there is no read before the write. Only a failed update costs a second
+     * query, to tell a missing product from a stale version.
+     */
+    @Bulkhead(name = WRITES)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional
+    @Override
+    public Product updateProduct(Long id, ProductDTO productDTO, long expectedVersion)
+            throws ProductNotFoundException {
+        int updated = productRepository.updateIfVersion(id, expectedVersion,
+                productDTO.getName(), productDTO.getPrice(), productDTO.getDescription());
+        if (updated == 0) {
+            productRepository.findVersionById(id).orElseThrow(() -> new ProductNotFoundException(id));
+            throw new ProductVersionMismatchException(id, expectedVersion);
+        }
+
+        Product saved = new Product(id, productDTO.getName(), productDTO.getPrice(),
+                productDTO.getDescription(), expectedVersion + 1);
+        changeNotifier.productSaved(saved);
+        return saved;
+    }
+
+    @Bulkhead(name = WRITES)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional
+    @Override
+    public Product patchProduct(Long id, ProductPatch patch) throws ProductNotFoundException {
+        return patch(id, patch, null);
+    }
 
-        return productRepository.save(updated);
+    @Bulkhead(name = WRITES)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional
+    @Override
+    public Product patchProduct(Long id, ProductPatch patch, long expectedVersion) throws ProductNotFoundException {
+        return patch(id, patch, expectedVersion);
     }
 
+    @Bulkhead(name = WRITES)
+    @CircuitBreaker(name = CIRCUIT_BREAKER)
+    @Transactional
     @Override
     public void deleteProduct(Long id) throws ProductNotFoundException {
-        if (!productRepository.existsById(id)) {
+        if (productRepository.removeById(id) == 0) {
             throw new ProductNotFoundException(id);
         }
-        productRepository.deleteById(id);
+        changeNotifier.productDeleted(id);
+    }
+
+    private record PageKey(ProductSort sort, ProductFilter filter, String cursor, int pageSize) {
+    }
+
+    private record SearchKey(String query, String cursor, int pageSize) {
+    }
+
+    static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    static ProductCursor after(ProductSort sort, String cursor) {
+        return cursor == null || cursor.isBlank() ? null : ProductCursor.decode(cursor, sort);
+    }
+
+    /**
+     * The requested ids without repeats, in the order they were first asked for.
+     */
+    static List<Long> distinctIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidPageRequestException("ids", "At least one id is required");
+        }
+        // List.of based lists throw on contains(null)
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidPageRequestException("ids", "Ids cannot be null");
+        }
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidPageRequestException("ids", "At most " + MAX_LOOKUP_IDS + " ids can be looked up at once");
+        }
+        return distinct;
+    }
+
+    static ProductLookup lookup(List<Long> ids, Function<Long, Optional<Product>> finder) {
+        List<Product> products = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            finder.apply(id).ifPresentOrElse(products::add, () -> missing.add(id));
+        }
+        return new ProductLookup(products, missing);
+    }
+
+    /**
+     * Writes only the patched columns in one {@code UPDATE ... RETURNING}.
+     * Each value is checked against the same constraints as a full
+     * {@link ProductDTO}. An empty patch changes nothing and just returns
+     * the product.
+     */
+    private Product patch(Long id, ProductPatch patch, Long expectedVersion) {
+        validate(validator, patch);
+        if (patch.isEmpty()) {
+            Product current = productRepository.findById(id).orElseThrow(() -> new ProductNotFoundException(id));
+            if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                throw new ProductVersionMismatchException(id, expectedVersion);
+            }
+            return current;
+        }
+
+        Optional<Product> patched = productRepository.patchReturning(id, patch, expectedVersion);
+        if (patched.isEmpty()) {
+            productRepository.findVersionById(id).orElseThrow(() -> new ProductNotFoundException(id));
+            throw new ProductVersionMismatchException(id, expectedVersion);
+        }
+        changeNotifier.productSaved(patched.get());
+        return patched.get();
+    }
+
+    static void validate(Validator validator, ProductPatch patch) {
+        List<InvalidProductPatchException.Violation> violations = patch.changes().entrySet().stream()
+                .flatMap(change -> validator.validateValue(ProductDTO.class, change.getKey(), change.getValue())
+                        .stream()
+                        .map(violation -> new InvalidProductPatchException.Violation(
+                                change.getKey(), violation.getMessage())))
+                .toList();
+        if (!violations.isEmpty()) {
+            throw new InvalidProductPatchException(violations);
+        }
+    }
+
+    private Product toProduct(ProductDTO productDTO) {
+        return Product.builder()
+                .name(productDTO.getName())
+                .price(productDTO.getPrice())
+                .description(productDTO.getDescription())
+                .build();
     }
 
 }
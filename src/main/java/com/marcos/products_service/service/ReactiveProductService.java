@@ -0,0 +1,48 @@
+package com.marcos.products_service.service;
+
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPageStream;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.model.Product;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@link ProductService} for the reactive stack. Missing products complete
+ * empty on reads and fail with {@code ProductNotFoundException} on writes.
+ */
+public interface ReactiveProductService {
+
+    Mono<Product> createProduct(ProductDTO productDTO);
+
+    Mono<List<Product>> createProducts(List<ProductDTO> productDTOs);
+
+    ProductPageStream getProducts(ProductSort sort, ProductFilter filter, String cursor, int limit);
+
+    Mono<ProductPage> searchProducts(String query, String cursor, int limit);
+
+    Mono<Product> getProductById(Long id);
+
+    Mono<Long> getProductVersion(Long id);
+
+    Mono<ProductLookup> getProductsByIds(List<Long> ids);
+
+    Flux<Product> exportProducts();
+
+    Mono<Product> updateProduct(Long id, ProductDTO productDTO);
+
+    Mono<Product> updateProduct(Long id, ProductDTO productDTO, long expectedVersion);
+
+    Mono<Product> patchProduct(Long id, ProductPatch patch);
+
+    Mono<Product> patchProduct(Long id, ProductPatch patch, long expectedVersion);
+
+    Mono<Void> deleteProduct(Long id);
+
+}
@@ -0,0 +1,209 @@
+package com.marcos.products_service.service;
+
+import com.marcos.products_service.cache.ProductChangeNotifier;
+import com.marcos.products_service.config.ProductBatchProperties;
+import com.marcos.products_service.config.ProductCacheInvalidationProperties;
+import com.marcos.products_service.config.ProductSearchProperties;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPageStream;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSearchCursor;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.exception.ProductVersionMismatchException;
+import com.marcos.products_service.model.Product;
+import com.marcos.products_service.repository.ProductRepository;
+import com.marcos.products_service.repository.ReactiveProductRepository;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Same rules as {@link ProductServiceImpl}, over R2DBC. Arguments are checked
+ * before anything is subscribed, so bad requests fail as they would on the
+ * servlet stack. Single statements run in autocommit; only the batch insert
+ * and the export open a transaction.
+ *
+ * <p>This node keeps nothing in memory, so there are no caches or read
+ * models to update. With {@code products.cache.invalidation.enabled} each
+ * committed write is announced to the other nodes with the same
+ * {@code pg_notify} as {@link ProductChangeNotifier} sends.</p>
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+
+    static final int EXPORT_FETCH_SIZE = Integer.parseInt(ProductRepository.EXPORT_FETCH_SIZE);
+
+    private final ReactiveProductRepository productRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ProductBatchProperties batchProperties;
+    private final ProductCacheInvalidationProperties invalidationProperties;
+    private final Validator validator;
+    private final ProductSearchProperties searchProperties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Override
+    public Mono<Product> createProduct(ProductDTO productDTO) {
+        return productRepository.insert(productDTO)
+                .flatMap(this::saved);
+    }
+
+    /**
+     * Inserts all products in one transaction, one statement per
+     * {@code products.batch.size} products.
+     */
+    @Override
+    public Mono<List<Product>> createProducts(List<ProductDTO> productDTOs) {
+        int batchSize = Math.max(batchProperties.size(), 1);
+        Flux<Product> inserts = Flux.range(0, (productDTOs.size() + batchSize - 1) / batchSize)
+                .concatMap(chunk -> productRepository.insertAll(productDTOs.subList(
+                        chunk * batchSize, Math.min((chunk + 1) * batchSize, productDTOs.size()))));
+        return transactionalOperator.transactional(inserts)
+                .collectList()
+                .flatMap(created -> announce(ProductChangeNotifier.MISSING).thenReturn(created));
+    }
+
+    @Override
+    public ProductPageStream getProducts(ProductSort sort, ProductFilter filter, String cursor, int limit) {
+        int pageSize = ProductServiceImpl.pageSize(limit);
+        return new ProductPageStream(sort, pageSize, productRepository.findPage(
+                sort, filter, ProductServiceImpl.after(sort, cursor), pageSize + 1));
+    }
+
+    @Override
+    public Mono<ProductPage> searchProducts(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidPageRequestException("q", "Search query cannot be blank");
+        }
+        if (query.length() > ProductServiceImpl.MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidPageRequestException("q",
+                    "Search query cannot be longer than " + ProductServiceImpl.MAX_SEARCH_QUERY_LENGTH
+                            + " characters");
+        }
+        int pageSize = ProductServiceImpl.pageSize(limit);
+        ProductSearchCursor after = cursor == null || cursor.isBlank() ? null : ProductSearchCursor.decode(cursor);
+        return productRepository.search(searchProperties.config(), query, after, pageSize + 1)
+                .collectList()
+                .map(hits -> ProductPage.ofHits(hits, pageSize));
+    }
+
+    @Override
+    public Mono<Product> getProductById(Long id) {
+        return productRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Long> getProductVersion(Long id) {
+        return productRepository.findVersionById(id);
+    }
+
+    @Override
+    public Mono<ProductLookup> getProductsByIds(List<Long> ids) {
+        List<Long> distinctIds = ProductServiceImpl.distinctIds(ids);
+        return productRepository.findAllByIdArray(distinctIds.toArray(Long[]::new))
+                .collectMap(Product::getId, Function.identity())
+                .map(found -> lookup(distinctIds, found));
+    }
+
+    /**
+     * Every product in id order, read from the database only as fast as the
+     * subscriber requests them.
+     */
+    @Override
+    public Flux<Product> exportProducts() {
+        return transactionalOperator.transactional(productRepository.streamAllOrderById(EXPORT_FETCH_SIZE));
+    }
+
+    @Override
+    public Mono<Product> updateProduct(Long id, ProductDTO productDTO) {
+        return productRepository.updateReturning(id, productDTO)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)))
+                .flatMap(this::saved);
+    }
+
+    /**
+     * Updates the product in a single statement guarded by its version. Only
+     * a failed update costs a second query, to tell a missing product from a
+     * stale version.
+     */
+    @Override
+    public Mono<Product> updateProduct(Long id, ProductDTO productDTO, long expectedVersion) {
+        return productRepository.updateIfVersion(id, expectedVersion, productDTO)
+                .flatMap(updated -> updated == 0
+                        ? versionMismatch(id, expectedVersion)
+                        : saved(new Product(id, productDTO.getName(), productDTO.getPrice(),
+                                productDTO.getDescription(), expectedVersion + 1)));
+    }
+
+    @Override
+    public Mono<Product> patchProduct(Long id, ProductPatch patch) {
+        return patch(id, patch, null);
+    }
+
+    @Override
+    public Mono<Product> patchProduct(Long id, ProductPatch patch, long expectedVersion) {
+        return patch(id, patch, expectedVersion);
+    }
+
+    @Override
+    public Mono<Void> deleteProduct(Long id) {
+        return productRepository.removeById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new ProductNotFoundException(id))
+                        : announce(String.valueOf(id)));
+    }
+
+    private Mono<Product> patch(Long id, ProductPatch patch, Long expectedVersion) {
+        ProductServiceImpl.validate(validator, patch);
+        if (patch.isEmpty()) {
+            return productRepository.findById(id)
+                    .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)))
+                    .flatMap(current -> expectedVersion != null && current.getVersion() != expectedVersion
+                            ? Mono.error(new ProductVersionMismatchException(id, expectedVersion))
+                            : Mono.just(current));
+        }
+        return productRepository.patchReturning(id, patch, expectedVersion)
+                .flatMap(this::saved)
+                .switchIfEmpty(Mono.defer(() -> versionMismatch(id, expectedVersion)));
+    }
+
+    private <T> Mono<T> versionMismatch(Long id, Long expectedVersion) {
+        return productRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)))
+                .flatMap(current -> Mono.error(new ProductVersionMismatchException(id, expectedVersion)));
+    }
+
+    private Mono<Product> saved(Product product) {
+        return announce(String.valueOf(product.getId())).thenReturn(product);
+    }
+
+    private Mono<Void> announce(String change) {
+        if (!invalidationProperties.enabled()) {
+            return Mono.empty();
+        }
+        return productRepository.publishChange(invalidationProperties.channel(),
+                ProductChangeNotifier.payload(nodeId, change));
+    }
+
+    private static ProductLookup lookup(List<Long> ids, Map<Long, Product> found) {
+        return ProductServiceImpl.lookup(ids, id -> Optional.ofNullable(found.get(id)));
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.marcos.products_service.service;
+
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.dto.ProductSuggestion;
+import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.metrics.OperationTimers;
+import com.marcos.products_service.model.Product;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Times every call to the {@link ProductService} the controller uses,
+ * failed ones included, with the {@link OperationTimers}. Both overloads of
+ * an operation share its timer.
+ *
+ * <p>Written out by hand rather than as an aspect so that a call allocates
+ * nothing for timing.</p>
+ */
+public class TimedProductService implements ProductService {
+
+    private final ProductService productService;
+    private final Timer createProduct;
+    private final Timer createProducts;
+    private final Timer getAllProducts;
+    private final Timer getProducts;
+    private final Timer searchProducts;
+    private final Timer suggestProducts;
+    private final Timer getProductById;
+    private final Timer getProductVersion;
+    private final Timer getProductsByIds;
+    private final Timer exportProducts;
+    private final Timer updateProduct;
+    private final Timer patchProduct;
+    private final Timer deleteProduct;
+
+    public TimedProductService(ProductService productService, OperationTimers timers) {
+        this.productService = productService;
+        this.createProduct = timers.timer("createProduct");
+        this.createProducts = timers.timer("createProducts");
+        this.getAllProducts = timers.timer("getAllProducts");
+        this.getProducts = timers.timer("getProducts");
+        this.searchProducts = timers.timer("searchProducts");
+        this.suggestProducts = timers.timer("suggestProducts");
+        this.getProductById = timers.timer("getProductById");
+        this.getProductVersion = timers.timer("getProductVersion");
+        this.getProductsByIds = timers.timer("getProductsByIds");
+        this.exportProducts = timers.timer("exportProducts");
+        this.updateProduct = timers.timer("updateProduct");
+        this.patchProduct = timers.timer("patchProduct");
+        this.deleteProduct = timers.timer("deleteProduct");
+    }
+
+    @Override
+    public Product createProduct(ProductDTO productDTO) {
+        long start = System.nanoTime();
+        try {
+            return productService.createProduct(productDTO);
+        } finally {
+            stop(createProduct, start);
+        }
+    }
+
+    @Override
+    public List<Product> createProducts(List<ProductDTO> productDTOs) {
+        long start = System.nanoTime();
+        try {
+            return productService.createProducts(productDTOs);
+        } finally {
+            stop(createProducts, start);
+        }
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        long start = System.nanoTime();
+        try {
+            return productService.getAllProducts();
+        } finally {
+            stop(getAllProducts, start);
+        }
+    }
+
+    @Override
+    public ProductPage getProducts(ProductSort sort, ProductFilter filter, String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return productService.getProducts(sort, filter, cursor, limit);
+        } finally {
+            stop(getProducts, start);
+        }
+    }
+
+    @Override
+    public ProductPage searchProducts(String query, String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return productService.searchProducts(query, cursor, limit);
+        } finally {
+            stop(searchProducts, start);
+        }
+    }
+
+    @Override
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        long start = System.nanoTime();
+        try {
+            return productService.suggestProducts(prefix, limit);
+        } finally {
+            stop(suggestProducts, start);
+        }
+    }
+
+    @Override
+    public Optional<Product> getProductById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return productService.getProductById(id);
+        } finally {
+            stop(getProductById, start);
+        }
+    }
+
+    @Override
+    public Optional<Long> getProductVersion(Long id) {
+        long start = System.nanoTime();
+        try {
+            return productService.getProductVersion(id);
+        } finally {
+            stop(getProductVersion, start);
+        }
+    }
+
+    @Override
+    public ProductLookup getProductsByIds(List<Long> ids) {
+        long start = System.nanoTime();
+        try {
+            return productService.getProductsByIds(ids);
+        } finally {
+            stop(getProductsByIds, start);
+        }
+    }
+
+    /**
+     * Timed until the last product has been handed to {@code consumer}, so
+     * this includes the time spent writing the download.
+     */
+    @Override
+    public void exportProducts(Consumer<Product> consumer) {
+        long start = System.nanoTime();
+        try {
+            productService.exportProducts(consumer);
+        } finally {
+            stop(exportProducts, start);
+        }
+    }
+
+    @Override
+    public Product updateProduct(Long id, ProductDTO productDTO) throws ProductNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return productService.updateProduct(id, productDTO);
+        } finally {
+            stop(updateProduct, start);
+        }
+    }
+
+    @Override
+    public Product updateProduct(Long id, ProductDTO productDTO, long expectedVersion)
+            throws ProductNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return productService.updateProduct(id, productDTO, expectedVersion);
+        } finally {
+            stop(updateProduct, start);
+        }
+    }
+
+    @Override
+    public Product patchProduct(Long id, ProductPatch patch) throws ProductNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return productService.patchProduct(id, patch);
+        } finally {
+            stop(patchProduct, start);
+        }
+    }
+
+    @Override
+    public Product patchProduct(Long id, ProductPatch patch, long expectedVersion) throws ProductNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return productService.patchProduct(id, patch, expectedVersion);
+        } finally {
+            stop(patchProduct, start);
+        }
+    }
+
+    @Override
+    public void deleteProduct(Long id) throws ProductNotFoundException {
+        long start = System.nanoTime();
+        try {
+            productService.deleteProduct(id);
+        } finally {
+            stop(deleteProduct, start);
+        }
+    }
+
+    private static void stop(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.marcos.products_service.cache;
+
+import com.marcos.products_service.config.ProductCacheInvalidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheInvalidationListenerTest {
+
+    private static final ProductCacheInvalidationProperties ENABLED = new ProductCacheInvalidationProperties(
+            true, "products_changed", Duration.ofMillis(500), Duration.ofSeconds(30), Duration.ofSeconds(5));
+
+    @Mock
+    private ProductChangeListener changeListener;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductChangeNotifier notifier;
+    private ProductCacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new ProductChangeNotifier(jdbcTemplate, ENABLED, List.of());
+        listener = new ProductCacheInvalidationListener(
+                List.of(changeListener), notifier, ENABLED, new DataSourceProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("✅ Changes from other nodes should be passed on by id")
+    void remoteChangeShouldBePassedOnById() {
+        listener.apply("other-node:42");
+
+        verify(changeListener).productChanged(42L, null);
+    }
+
+    @Test
+    @DisplayName("✅ Bulk inserts from other nodes should be passed on without ids")
+    void remoteInsertShouldBePassedOn() {
+        listener.apply("other-node:missing");
+
+        verify(changeListener).productsInserted(List.of());
+    }
+
+    @Test
+    @DisplayName("✅ Own and malformed notifications should be ignored")
+    void ownAndMalformedNotificationsShouldBeIgnored() {
+        listener.apply(notifier.getNodeId() + ":42");
+        listener.apply("garbage");
+        listener.apply("other-node:abc");
+
+        verifyNoInteractions(changeListener);
+    }
+
+}
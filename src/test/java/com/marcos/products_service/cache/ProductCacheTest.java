@@ -0,0 +1,232 @@
+package com.marcos.products_service.cache;
+
+import com.marcos.products_service.config.ProductCacheProperties;
+import com.marcos.products_service.config.ProductReplicaProperties;
+import com.marcos.products_service.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ProductCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductCache productCache;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productCache = productCache(false);
+        product = new Product(1L, "Laptop", 1500.0, null);
+    }
+
+    private ProductCache productCache(boolean replicas) {
+        return new ProductCache(
+                new ProductCacheProperties(100, Duration.ofMinutes(10), Duration.ofSeconds(30)),
+                new ProductRequestCoalescer(meterRegistry), meterRegistry,
+                new ProductReplicaProperties(replicas, List.of(), null, null, 10, Duration.ofSeconds(2),
+                        Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(10)));
+    }
+
+    @Test
+    @DisplayName("✅ Bulk lookups should load only the uncached ids, in one call")
+    void bulkLookupsShouldLoadOnlyMisses() {
+        productCache.get(1L, id -> Optional.of(product));
+        List<Collection<Long>> loads = new ArrayList<>();
+
+        Map<Long, Optional<Product>> found = productCache.getAll(List.of(1L, 2L, 3L), ids -> {
+            loads.add(ids);
+            return List.of(new Product(2L, "Mouse", 25.0, null));
+        });
+        productCache.getAll(List.of(2L, 3L), ids -> {
+            loads.add(ids);
+            return List.of();
+        });
+
+        assertThat(loads).singleElement().asInstanceOf(InstanceOfAssertFactories.COLLECTION)
+                .containsExactlyInAnyOrder(2L, 3L);
+        assertThat(found.get(1L)).contains(product);
+        assertThat(found.get(2L)).get().extracting(Product::getName).isEqualTo("Mouse");
+        assertThat(found.get(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Local writes should replace the cached product")
+    void localWritesShouldReplaceCachedProduct() {
+        productCache.get(1L, id -> Optional.empty());
+
+        productCache.productChanged(1L, product);
+
+        assertThat(productCache.get(1L, id -> Optional.empty())).contains(product);
+    }
+
+    @Test
+    @DisplayName("✅ With replicas, loads of a just changed product should not be cached")
+    void replicaLoadsOfChangedProductsShouldNotBeCached() {
+        productCache = productCache(true);
+        AtomicInteger loads = new AtomicInteger();
+        productCache.productChanged(1L, null);
+
+        productCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(product);
+        });
+        productCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(product);
+        });
+        productCache.get(2L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        productCache.get(2L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("✅ With replicas, no loads should be cached right after changes were missed")
+    void replicaLoadsShouldNotBeCachedAfterMissedChanges() {
+        productCache = productCache(true);
+        AtomicInteger loads = new AtomicInteger();
+        productCache.changesMissed();
+
+        productCache.getAll(List.of(1L, 2L), ids -> {
+            loads.incrementAndGet();
+            return List.of(product);
+        });
+        productCache.getAll(List.of(1L, 2L), ids -> {
+            loads.incrementAndGet();
+            return List.of(product);
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("✅ Changes without a product should evict it")
+    void changesWithoutProductShouldEvict() {
+        productCache.get(1L, id -> Optional.of(product));
+
+        productCache.productChanged(1L, null);
+
+        assertThat(productCache.get(1L, id -> Optional.empty())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Bulk inserts should drop only negative entries")
+    void bulkInsertsShouldDropOnlyNegativeEntries() {
+        productCache.get(1L, id -> Optional.of(product));
+        productCache.get(2L, id -> Optional.empty());
+
+        productCache.productsInserted(List.of());
+
+        assertThat(productCache.get(1L, id -> Optional.empty())).contains(product);
+        assertThat(productCache.get(2L, id -> Optional.of(product))).contains(product);
+    }
+
+    @Test
+    @DisplayName("✅ Missed changes should flush everything")
+    void missedChangesShouldFlushEverything() {
+        productCache.get(1L, id -> Optional.of(product));
+
+        productCache.changesMissed();
+
+        assertThat(productCache.get(1L, id -> Optional.empty())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Hits and misses should be exported as cache metrics")
+    void hitsAndMissesShouldBeExported() {
+        productCache.get(1L, id -> Optional.of(product));
+        productCache.get(1L, id -> Optional.of(product));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("✅ Concurrent misses for one id should share a single load")
+    void concurrentMissesShouldShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread leader = new Thread(() -> productCache.get(1L, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            awaitQuietly(release);
+            return Optional.of(product);
+        }));
+        leader.start();
+        loading.await(5, TimeUnit.SECONDS);
+
+        Thread follower = new Thread(() -> productCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(product);
+        }));
+        follower.start();
+        while (follower.getState() != Thread.State.BLOCKED && follower.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get(ProductRequestCoalescer.EXECUTED).tag("operation", "product")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(ProductRequestCoalescer.COALESCED).tag("operation", "product")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("✅ A write committed during a load should neither wait for it nor be undone by it")
+    void writeDuringLoadShouldNotWaitOrGoStale() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread reader = new Thread(() -> productCache.get(1L, id -> {
+            loading.countDown();
+            awaitQuietly(release);
+            return Optional.of(product);
+        }));
+        reader.start();
+        loading.await(5, TimeUnit.SECONDS);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> productCache.productChanged(1L, null));
+        release.countDown();
+        reader.join(5000);
+
+        Product renamed = new Product(1L, "Laptop Pro", 1500.0, null, 1L);
+        assertThat(productCache.get(1L, id -> Optional.of(renamed))).contains(renamed)
+                .get().extracting(Product::getName).isEqualTo("Laptop Pro");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
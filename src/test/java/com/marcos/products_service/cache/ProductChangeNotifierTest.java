@@ -0,0 +1,95 @@
+package com.marcos.products_service.cache;
+
+import com.marcos.products_service.config.ProductCacheInvalidationProperties;
+import com.marcos.products_service.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeNotifierTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ProductChangeListener changeListener;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Local listeners should only hear about writes after commit")
+    void localListenersShouldHearAfterCommit() {
+        ProductChangeNotifier notifier = notifier(false);
+        Product product = new Product(1L, "Laptop", 1500.0, null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        notifier.productSaved(product);
+        notifier.productDeleted(2L);
+
+        verifyNoInteractions(changeListener);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(changeListener).productChanged(1L, product);
+        verify(changeListener).productDeleted(2L);
+    }
+
+    @Test
+    @DisplayName("✅ Writes outside a transaction should reach local listeners immediately")
+    void writesOutsideTransactionShouldApplyImmediately() {
+        ProductChangeNotifier notifier = notifier(false);
+
+        notifier.productsInserted(List.of());
+
+        verify(changeListener).productsInserted(List.of());
+    }
+
+    @Test
+    @DisplayName("✅ Notifier should publish node and id on the configured channel")
+    @SuppressWarnings("unchecked")
+    void notifierShouldPublishOnChannel() {
+        ProductChangeNotifier notifier = notifier(true);
+
+        notifier.productDeleted(7L);
+
+        verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class),
+                eq("products_changed"), eq(notifier.getNodeId() + ":7"));
+    }
+
+    @Test
+    @DisplayName("✅ Disabled notifier should not touch the database")
+    void disabledNotifierShouldNotPublish() {
+        ProductChangeNotifier notifier = notifier(false);
+
+        notifier.productDeleted(7L);
+        notifier.productsInserted(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private ProductChangeNotifier notifier(boolean enabled) {
+        return new ProductChangeNotifier(jdbcTemplate, new ProductCacheInvalidationProperties(
+                enabled, "products_changed", Duration.ofMillis(500), Duration.ofSeconds(30), Duration.ofSeconds(5)),
+                List.of(changeListener));
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.marcos.products_service.cache;
+
+import com.marcos.products_service.replica.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductRequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProductRequestCoalescer coalescer = new ProductRequestCoalescer(meterRegistry);
+
+    @Test
+    @DisplayName("✅ Concurrent identical calls should share one execution")
+    void concurrentCallsShouldShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> coalescer.execute("page", "key", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "page";
+                })));
+            }
+            waitForCoalescedCallers(CALLERS - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(count(ProductRequestCoalescer.EXECUTED)).isEqualTo(1.0);
+        assertThat(count(ProductRequestCoalescer.COALESCED)).isEqualTo(CALLERS - 1.0);
+    }
+
+    @Test
+    @DisplayName("✅ Calls that don't overlap should each execute")
+    void sequentialCallsShouldEachExecute() {
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.execute("page", "key", executions::incrementAndGet);
+        coalescer.execute("page", "key", executions::incrementAndGet);
+        coalescer.execute("page", "other", executions::incrementAndGet);
+
+        assertThat(executions).hasValue(3);
+        assertThat(count(ProductRequestCoalescer.COALESCED)).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ A read pinned to the primary should not join an unpinned call")
+    void pinnedCallShouldNotJoinUnpinnedCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> replicaRead = executor.submit(() -> coalescer.execute("product", 1L, () -> {
+                await(release);
+                return "replica";
+            }));
+            waitForExecution();
+
+            String primaryRead = PrimaryReads.call(() -> coalescer.execute("product", 1L, () -> "primary"));
+            release.countDown();
+
+            assertThat(primaryRead).isEqualTo("primary");
+            assertThat(replicaRead.get(5, TimeUnit.SECONDS)).isEqualTo("replica");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(count(ProductRequestCoalescer.EXECUTED)).isEqualTo(2.0);
+        assertThat(count(ProductRequestCoalescer.COALESCED)).isZero();
+    }
+
+    @Test
+    @DisplayName("❌ A failure should reach every coalesced caller")
+    void failureShouldReachEveryCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> leader = executor.submit(() -> coalescer.execute("all", "key", () -> {
+                await(release);
+                throw new IllegalStateException("database down");
+            }));
+            waitForExecution();
+            Thread follower = new Thread(() -> assertThatThrownBy(() -> coalescer.execute("all", "key", () -> "late"))
+                    .isInstanceOf(IllegalStateException.class));
+            follower.start();
+            waitForCoalescedCallers(1);
+            release.countDown();
+            follower.join(5000);
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double count(String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private void waitForExecution() throws InterruptedException {
+        while (count(ProductRequestCoalescer.EXECUTED) < 1) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void waitForCoalescedCallers(int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(ProductRequestCoalescer.COALESCED) < callers && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
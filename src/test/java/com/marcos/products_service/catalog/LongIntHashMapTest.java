@@ -0,0 +1,65 @@
+package com.marcos.products_service.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntHashMapTest {
+
+    @Test
+    @DisplayName("✅ Put, get and remove should behave like a map")
+    void shouldBehaveLikeMap() {
+        LongIntHashMap map = new LongIntHashMap(0);
+
+        map.put(1L, 10);
+        map.put(2L, 20);
+        map.put(1L, 11);
+
+        assertThat(map.get(1L)).isEqualTo(11);
+        assertThat(map.get(2L)).isEqualTo(20);
+        assertThat(map.get(3L)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.remove(2L)).isEqualTo(20);
+        assertThat(map.remove(2L)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Random puts and removes should match a HashMap across resizes")
+    void shouldMatchHashMapUnderRandomOperations() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed == null ? LongIntHashMap.MISSING : removed);
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 5_000; key++) {
+            Integer value = expected.get(key);
+            assertThat(map.get(key)).isEqualTo(value == null ? LongIntHashMap.MISSING : value);
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Non-positive keys should be rejected")
+    void nonPositiveKeysShouldBeRejected() {
+        LongIntHashMap map = new LongIntHashMap(0);
+
+        assertThatThrownBy(() -> map.put(0L, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
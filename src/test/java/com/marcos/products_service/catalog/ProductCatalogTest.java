@@ -0,0 +1,95 @@
+package com.marcos.products_service.catalog;
+
+import com.marcos.products_service.config.ProductCatalogProperties;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductCatalog catalog;
+    private Product laptop;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ProductCatalog(jdbcTemplate, transactionManager,
+                new ProductCatalogProperties(true, 1000), new SimpleMeterRegistry());
+        laptop = new Product(1L, "Laptop", 1500.0, null);
+    }
+
+    @Test
+    @DisplayName("✅ Local writes should be applied without reading the database")
+    void localWritesShouldApplyDirectly() {
+        catalog.productChanged(1L, laptop);
+        catalog.productsInserted(List.of(new Product(2L, "Mouse", 25.0, null)));
+
+        assertThat(catalog.get(1L)).contains(laptop);
+        assertThat(catalog.page(ProductSort.PRICE, ProductFilter.NONE, null, 10))
+                .extracting(Product::getId)
+                .containsExactly(2L, 1L);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("✅ Changes known only by id should re-read the row")
+    @SuppressWarnings("unchecked")
+    void changesByIdShouldReReadRow() {
+        Product renamed = new Product(1L, "Notebook", 1400.0, null);
+        when(jdbcTemplate.query(eq(ProductCatalog.SELECT_BY_ID), any(RowMapper.class), eq(1L)))
+                .thenReturn(List.of(renamed));
+
+        catalog.productChanged(1L, laptop);
+        catalog.productChanged(1L, null);
+
+        assertThat(catalog.get(1L)).get().extracting(Product::getName).isEqualTo("Notebook");
+    }
+
+    @Test
+    @DisplayName("✅ Rows gone from the database should be removed")
+    @SuppressWarnings("unchecked")
+    void deletedRowsShouldBeRemoved() {
+        when(jdbcTemplate.query(eq(ProductCatalog.SELECT_BY_ID), any(RowMapper.class), eq(1L)))
+                .thenReturn(List.of());
+
+        catalog.productChanged(1L, laptop);
+        catalog.productChanged(1L, null);
+
+        assertThat(catalog.get(1L)).isEmpty();
+        assertThat(catalog.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Products deleted by this node should be removed without a query")
+    void localDeletesShouldNotQuery() {
+        catalog.productChanged(1L, laptop);
+        catalog.productDeleted(1L);
+
+        assertThat(catalog.get(1L)).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.marcos.products_service.catalog;
+
+import com.marcos.products_service.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductNameIndexTest {
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(0);
+        index.append(1L, "Cámara Canon EOS R6", 0L);
+        index.append(2L, "Camiseta Técnica", 0L);
+        index.append(3L, "Disco SSD 1TB", 0L);
+        index.append(4L, "CAMARA web 4K", 0L);
+        index.append(5L, "Teclado Mecánico RGB", 0L);
+        index.sortOrder();
+    }
+
+    @DisplayName("✅ Prefixes should match regardless of case and accents")
+    @ParameterizedTest
+    @ValueSource(strings = {"camara", "CÁMARA", "Cámara", "cámara"})
+    void prefixesShouldIgnoreCaseAndAccents(String prefix) {
+        assertThat(find(prefix, 10)).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("✅ Matches should come in folded name order, up to the limit")
+    void matchesShouldRespectOrderAndLimit() {
+        assertThat(find("cam", 10)).containsExactly(1L, 4L, 2L);
+        assertThat(find("cam", 2)).containsExactly(1L, 4L);
+        assertThat(find("tecl", 10)).containsExactly(5L);
+        assertThat(find("camarax", 10)).isEmpty();
+        assertThat(find("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Renames, inserts and deletes should be reflected incrementally")
+    void changesShouldBeAppliedIncrementally() {
+        index.upsert(new Product(3L, "Cámara Sony A7", 10.0, null, 1L));
+        index.upsert(new Product(6L, "Disco Duro Externo 2TB", 10.0, null));
+        index.remove(1L);
+
+        assertThat(find("camara", 10)).containsExactly(3L, 4L);
+        assertThat(find("disco", 10)).containsExactly(6L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("✅ Stale versions should not rename a product")
+    void staleVersionsShouldBeIgnored() {
+        index.upsert(new Product(1L, "Cámara Canon EOS R8", 10.0, null, 2L));
+        index.upsert(new Product(1L, "Old Name", 10.0, null, 1L));
+
+        assertThat(index.name(slots("camara canon", 1)[0])).isEqualTo("Cámara Canon EOS R8");
+    }
+
+    @Test
+    @DisplayName("✅ Folding should lower case and strip accents")
+    void foldingShouldStripAccents() {
+        assertThat(ProductNameIndex.fold("Ñandú Über Ça")).isEqualTo("nandu uber ca");
+    }
+
+    private List<Long> find(String prefix, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (int slot : slots(prefix, limit)) {
+            ids.add(index.id(slot));
+        }
+        return ids;
+    }
+
+    private int[] slots(String prefix, int limit) {
+        int[] slots = new int[limit];
+        return Arrays.copyOf(slots, index.find(prefix, slots));
+    }
+
+}
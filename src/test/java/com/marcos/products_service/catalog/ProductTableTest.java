@@ -0,0 +1,108 @@
+package com.marcos.products_service.catalog;
+
+import com.marcos.products_service.dto.ProductCursor;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductTableTest {
+
+    private ProductTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new ProductTable(0);
+        table.append(1L, "Laptop", 1500.0, "Gaming laptop", 1L);
+        table.append(2L, "Mouse", 25.0, null, 0L);
+        table.append(3L, "Keyboard", 25.0, null, 0L);
+        table.append(4L, "Monitor", 300.0, null, 0L);
+        table.sortOrders();
+    }
+
+    @Test
+    @DisplayName("✅ Products should be found by id")
+    void productsShouldBeFoundById() {
+        assertThat(table.get(1L))
+                .extracting(Product::getName, Product::getPrice, Product::getDescription)
+                .containsExactly("Laptop", 1500.0, "Gaming laptop");
+        assertThat(table.get(99L)).isNull();
+        assertThat(table.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("✅ Pages should follow the sort key with the id as tie-breaker")
+    void pagesShouldFollowSortKey() {
+        assertThat(ids(table.page(ProductSort.PRICE, null, 10))).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(ids(table.page(ProductSort.NAME, null, 10))).containsExactly(3L, 1L, 4L, 2L);
+        assertThat(ids(table.page(ProductSort.ID, null, 2))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("✅ Cursors should seek past the last row of the previous page")
+    void cursorsShouldSeekPastLastRow() {
+        ProductCursor afterMouse = ProductCursor.of(ProductSort.PRICE, table.get(2L));
+
+        assertThat(ids(table.page(ProductSort.PRICE, afterMouse, 2))).containsExactly(3L, 4L);
+        assertThat(ids(table.page(ProductSort.ID, ProductCursor.of(ProductSort.ID, table.get(4L)), 2))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Filtered pages should skip products outside the filter")
+    void filteredPagesShouldSkipNonMatchingProducts() {
+        ProductFilter cheap = new ProductFilter(20.0, 300.0, null);
+        ProductFilter named = new ProductFilter(null, null, "MOn");
+
+        assertThat(ids(table.page(ProductSort.PRICE, cheap, null, 10))).containsExactly(2L, 3L, 4L);
+        assertThat(ids(table.page(ProductSort.PRICE, cheap, ProductCursor.of(ProductSort.PRICE, table.get(3L)), 10)))
+                .containsExactly(4L);
+        assertThat(ids(table.page(ProductSort.NAME, named, null, 10))).containsExactly(4L);
+        assertThat(ids(table.page(ProductSort.ID, cheap, null, 2))).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("✅ Updates should move products within the affected orders")
+    void updatesShouldReorderProducts() {
+        table.upsert(new Product(1L, "Adapter", 5.0, null, 2L));
+        table.upsert(new Product(5L, "Cable", 10.0, null));
+
+        assertThat(ids(table.page(ProductSort.PRICE, null, 10))).containsExactly(1L, 5L, 2L, 3L, 4L);
+        assertThat(ids(table.page(ProductSort.NAME, null, 10))).containsExactly(1L, 5L, 3L, 4L, 2L);
+        assertThat(ids(table.page(ProductSort.ID, null, 10))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("✅ Removed products should disappear and their slots be reused")
+    void removedProductsShouldDisappear() {
+        assertThat(table.remove(2L)).isTrue();
+        assertThat(table.remove(2L)).isFalse();
+        table.upsert(new Product(6L, "Webcam", 80.0, null));
+
+        assertThat(table.get(2L)).isNull();
+        assertThat(table.get(6L)).extracting(Product::getName).isEqualTo("Webcam");
+        assertThat(ids(table.page(ProductSort.PRICE, null, 10))).containsExactly(3L, 6L, 4L, 1L);
+        assertThat(table.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("✅ Older versions should not overwrite newer ones")
+    void olderVersionsShouldBeIgnored() {
+        table.upsert(new Product(1L, "Laptop v3", 1400.0, null, 3L));
+        table.upsert(new Product(1L, "Laptop v2", 1450.0, null, 2L));
+
+        assertThat(table.get(1L)).extracting(Product::getName, Product::getVersion).containsExactly("Laptop v3", 3L);
+        assertThat(table.version(1L)).isEqualTo(3L);
+        assertThat(table.version(99L)).isEqualTo(-1L);
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+}
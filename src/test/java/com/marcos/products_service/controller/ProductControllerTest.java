@@ -1,27 +1,70 @@
 package com.marcos.products_service.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductDocument;
+import com.marcos.products_service.dto.ProductImportFormat;
+import com.marcos.products_service.dto.ProductImportReport;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.dto.ProductSuggestion;
+import com.marcos.products_service.exception.InvalidPageRequestException;
 import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.exception.ProductVersionMismatchException;
+import com.marcos.products_service.exception.RestExceptionHandler;
 import com.marcos.products_service.model.Product;
+import com.marcos.products_service.service.ProductImportService;
 import com.marcos.products_service.service.ProductService;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 class ProductControllerTest {
@@ -29,16 +72,28 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductImportService productImportService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private ProductController productController;
 
     private ProductDTO productDTO;
     private Product product;
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+    private ServletWebRequest request;
 
     @BeforeEach
     void setUp() {
+        servletRequest = new MockHttpServletRequest("GET", "/api/v1/products");
+        servletResponse = new MockHttpServletResponse();
+        request = new ServletWebRequest(servletRequest, servletResponse);
         productDTO = new ProductDTO("Test Product", 100.0, "Test Description");
-        product = new Product(1L, "Test Product", 100.0, "Test Description");
+        product = new Product(1L, "Test Product", 100.0, "Test Description", 3L);
     }
 
     @Test
@@ -46,33 +101,106 @@ class ProductControllerTest {
     void createProductShouldReturnCreated() {
         when(productService.createProduct(any())).thenReturn(product);
 
-        ResponseEntity<Map<String, Object>> response = productController.createProduct(productDTO);
+        ResponseEntity<ProductDocument> response = productController.createProduct(productDTO);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
-        assertThat(response.getBody())
+        assertThat(json(response))
                 .extracting("data.attributes.name")
                 .isEqualTo("Test Product");
     }
 
+    @Test
+    @DisplayName("✅ POST /products/batch - Should return 201 CREATED with every product")
+    void createProductsShouldReturnCreated() {
+        Product second = new Product(2L, "Second", 200.0, null, 0L);
+        when(productService.createProducts(anyList())).thenReturn(List.of(product, second));
+
+        ResponseEntity<ProductDocument> response =
+                productController.createProducts(List.of(productDTO, new ProductDTO("Second", 200.0, null)));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertThat(json(response))
+                .extracting("data")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .extracting("attributes.id")
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("✅ POST /products/import - Should report imported and rejected rows")
+    void importProductsShouldReturnReport() {
+        ProductImportReport report = new ProductImportReport(3, 1, 1000,
+                List.of(new ProductImportReport.Rejection(2, "price", "Product price must be positive")));
+        when(productImportService.importProducts(any(), eq(ProductImportFormat.CSV))).thenReturn(report);
+
+        ResponseEntity<Map<String, Object>> response = productController.importProducts(
+                "text/csv; charset=UTF-8", new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("meta")
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("imported", 3L)
+                .containsEntry("rejected", 1L)
+                .containsEntry("rowsPerSecond", 3L);
+    }
+
     @Test
     @DisplayName("✅ GET /products/{id} - Should return 200 OK when product exists")
     void getByIdShouldReturnProductWhenExists() {
         when(productService.getProductById(1L)).thenReturn(Optional.of(product));
 
-        ResponseEntity<Map<String, Object>> response = productController.getById(1L);
+        ResponseEntity<ProductDocument> response = productController.getById(1L, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertThat(response.getBody())
+        assertThat(json(response))
                 .extracting("data.attributes.id")
                 .isEqualTo(1L);
     }
 
+    @Test
+    @DisplayName("✅ GET /products/{id} - Should return the version as a strong ETag")
+    void getByIdShouldReturnETag() {
+        when(productService.getProductById(1L)).thenReturn(Optional.of(product));
+
+        ResponseEntity<ProductDocument> response = productController.getById(1L, request);
+
+        assertEquals("\"3\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("✅ GET /products/{id} - Should answer 304 from the version alone")
+    void getByIdShouldReturnNotModifiedFromVersion() {
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+        when(productService.getProductVersion(1L)).thenReturn(Optional.of(3L));
+
+        ResponseEntity<ProductDocument> response = productController.getById(1L, request);
+
+        assertThat(response).isNull();
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        assertEquals("\"3\"", servletResponse.getHeader(HttpHeaders.ETAG));
+        verify(productService, never()).getProductById(any());
+    }
+
+    @Test
+    @DisplayName("✅ GET /products/{id} - Should return the product when the ETag is stale")
+    void getByIdShouldReturnProductWhenETagIsStale() {
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2\"");
+        when(productService.getProductVersion(1L)).thenReturn(Optional.of(3L));
+        when(productService.getProductById(1L)).thenReturn(Optional.of(product));
+
+        ResponseEntity<ProductDocument> response = productController.getById(1L, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+    }
+
     @Test
     @DisplayName("❌ GET /products/{id} - Should return 404 when product not found")
     void getByIdShouldReturnNotFound() {
         when(productService.getProductById(1L)).thenReturn(Optional.empty());
 
-        ResponseEntity<Map<String, Object>> response = productController.getById(1L);
+        ResponseEntity<ProductDocument> response = productController.getById(1L, request);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
@@ -82,20 +210,111 @@ class ProductControllerTest {
     void updateShouldReturnOkWhenProductExists() throws ProductNotFoundException {
         when(productService.updateProduct(1L, productDTO)).thenReturn(product);
 
-        ResponseEntity<Map<String, Object>> response = productController.update(1L, productDTO);
+        ResponseEntity<ProductDocument> response = productController.update(1L, productDTO, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertThat(response.getBody())
+        assertThat(json(response))
                 .extracting("data.attributes.name")
                 .isEqualTo("Test Product");
     }
 
+    @Test
+    @DisplayName("✅ PUT /products/{id} - Should update conditionally on If-Match")
+    void updateShouldPassIfMatchVersion() throws ProductNotFoundException {
+        when(productService.updateProduct(1L, productDTO, 2L)).thenReturn(product);
+
+        ResponseEntity<ProductDocument> response = productController.update(1L, productDTO, "\"2\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("✅ PUT /products/{id} - Should accept any listed version that is current")
+    void updateShouldAcceptCurrentVersionFromList() throws ProductNotFoundException {
+        when(productService.getProductVersion(1L)).thenReturn(Optional.of(2L));
+        when(productService.updateProduct(1L, productDTO, 2L)).thenReturn(product);
+
+        productController.update(1L, productDTO, "\"1\", \"2\"");
+
+        verify(productService).updateProduct(1L, productDTO, 2L);
+    }
+
+    @Test
+    @DisplayName("❌ PUT /products/{id} - Should fail the precondition for weak If-Match tags")
+    void updateShouldRejectWeakIfMatch() {
+        assertThrows(ProductVersionMismatchException.class,
+                () -> productController.update(1L, productDTO, "W/\"2\""));
+        verifyNoInteractions(productService);
+    }
+
     @Test
     @DisplayName("❌ PUT /products/{id} - Should return 404 when product not found")
     void updateShouldReturnNotFound() throws ProductNotFoundException {
         when(productService.updateProduct(1L, productDTO)).thenThrow(new ProductNotFoundException(1L));
 
-        ResponseEntity<Map<String, Object>> response = productController.update(1L, productDTO);
+        ResponseEntity<ProductDocument> response = productController.update(1L, productDTO, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("❌ PUT /products/{id} - Should return 400 and not write an invalid product")
+    void updateShouldRejectInvalidProduct() throws Exception {
+        mockMvc().perform(put("/api/v1/products/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"\", \"price\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[*].source.pointer").value(containsInAnyOrder(
+                        "/data/attributes/name", "/data/attributes/price")));
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("❌ PUT /products/{id} - Should return 400 for an invalid product before the If-Match update")
+    void updateShouldRejectInvalidProductBeforeConditionalUpdate() throws Exception {
+        mockMvc().perform(put("/api/v1/products/1")
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"\", \"price\": -1}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("✅ PATCH /products/{id} - Should apply the merge patch")
+    void patchShouldApplyMergePatch() throws Exception {
+        when(productService.patchProduct(eq(1L), any(ProductPatch.class))).thenReturn(product);
+
+        ResponseEntity<ProductDocument> response =
+                productController.patch(1L, objectMapper.readTree("{\"price\": 100.0}"), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("❌ PATCH /products/{id} - Should return 400 for a malformed merge patch")
+    void patchShouldRejectMalformedDocument() throws Exception {
+        mockMvc().perform(patch("/api/v1/products/1")
+                        .contentType(ProductController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"price\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].title").value("Malformed Request Body"));
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("❌ PATCH /products/{id} - Should return 404 when product not found")
+    void patchShouldReturnNotFound() throws Exception {
+        when(productService.patchProduct(eq(1L), any(ProductPatch.class), eq(2L)))
+                .thenThrow(new ProductNotFoundException(1L));
+
+        ResponseEntity<ProductDocument> response =
+                productController.patch(1L, objectMapper.readTree("{\"price\": 100.0}"), "\"2\"");
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
@@ -121,18 +340,212 @@ class ProductControllerTest {
     }
 
     @Test
-    @DisplayName("✅ GET /products - Should return all products")
-    void getAllShouldReturnProducts() {
-        when(productService.getAllProducts()).thenReturn(List.of(product));
+    @DisplayName("✅ GET /products - Should return first page as JSON:API collection")
+    void getAllShouldReturnFirstPage() {
+        when(productService.getProducts(ProductSort.ID, ProductFilter.NONE, null, 20))
+                .thenReturn(new ProductPage(List.of(product), null));
 
-        ResponseEntity<List<Product>> response = productController.getAll();
+        ResponseEntity<ProductDocument> response =
+                productController.getAll(20, null, "id", null, null, null, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertThat(response.getBody())
+        assertThat(json(response))
+                .extracting("data")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
                 .hasSize(1)
                 .first()
-                .extracting(Product::getName)
+                .extracting("attributes.name")
                 .isEqualTo("Test Product");
+        assertThat(json(response))
+                .extracting("links")
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("self", "/api/v1/products?sort=id&limit=20")
+                .doesNotContainKey("next");
+    }
+
+    @Test
+    @DisplayName("✅ GET /products - Should answer 304 when the page is unchanged")
+    void getAllShouldReturnNotModifiedForUnchangedPage() {
+        ProductPage page = new ProductPage(List.of(product), null);
+        when(productService.getProducts(ProductSort.ID, ProductFilter.NONE, null, 20)).thenReturn(page);
+        String eTag = productController.getAll(20, null, "id", null, null, null, request).getHeaders().getETag();
+        MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/api/v1/products");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse revalidationResponse = new MockHttpServletResponse();
+
+        ResponseEntity<ProductDocument> response = productController.getAll(20, null, "id", null, null, null,
+                new ServletWebRequest(revalidation, revalidationResponse));
+
+        assertThat(response).isNull();
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), revalidationResponse.getStatus());
+    }
+
+    @Test
+    @DisplayName("✅ GET /products - Should expose next cursor in links")
+    void getAllShouldExposeNextLink() {
+        when(productService.getProducts(ProductSort.PRICE, ProductFilter.NONE, null, 1))
+                .thenReturn(new ProductPage(List.of(product), "abc"));
+
+        ResponseEntity<ProductDocument> response =
+                productController.getAll(1, null, "price", null, null, null, request);
+
+        assertThat(json(response))
+                .extracting("links")
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("next", "/api/v1/products?sort=price&limit=1&cursor=abc");
+    }
+
+    @Test
+    @DisplayName("✅ GET /products - Should keep filters in the pagination links")
+    void getAllShouldKeepFiltersInLinks() {
+        ProductFilter filter = new ProductFilter(10.0, 500.0, "cam");
+        when(productService.getProducts(ProductSort.PRICE, filter, null, 1))
+                .thenReturn(new ProductPage(List.of(product), "abc"));
+
+        ResponseEntity<ProductDocument> response =
+                productController.getAll(1, null, "price", 10.0, 500.0, "cam", request);
+
+        assertThat(json(response))
+                .extracting("links")
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("next",
+                        "/api/v1/products?sort=price&limit=1&minPrice=10.0&maxPrice=500.0&nameContains=cam&cursor=abc");
+    }
+
+    @Test
+    @DisplayName("❌ GET /products - Should return 400 naming a non-numeric price filter")
+    void getAllShouldRejectNonNumericPriceFilter() throws Exception {
+        mockMvc().perform(get("/api/v1/products").param("minPrice", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].status").value(400))
+                .andExpect(jsonPath("$.errors[0].source.parameter").value("minPrice"));
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("✅ GET /products - Should tolerate products without description")
+    void getAllShouldTolerateNullDescription() {
+        Product withoutDescription = new Product(2L, "No Description", 10.0, null, 0L);
+        when(productService.getProducts(any(), any(), isNull(), anyInt()))
+                .thenReturn(new ProductPage(List.of(withoutDescription), null));
+
+        ResponseEntity<ProductDocument> response =
+                productController.getAll(20, null, "name", null, null, null, request);
+
+        assertThat(json(response))
+                .extracting("data")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .first()
+                .extracting("attributes.description")
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("✅ GET /products/search - Should link to the next page of hits")
+    void searchShouldExposeNextLink() {
+        when(productService.searchProducts("monitor 4k", null, 1))
+                .thenReturn(new ProductPage(List.of(product), "abc"));
+
+        ResponseEntity<ProductDocument> response = productController.search("monitor 4k", 1, null, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertThat(json(response))
+                .extracting("links")
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("self", "/api/v1/products/search?q=monitor%204k&limit=1")
+                .containsEntry("next", "/api/v1/products/search?q=monitor%204k&limit=1&cursor=abc");
+    }
+
+    @Test
+    @DisplayName("✅ GET /products?ids= - Should list missing ids in meta")
+    void getByIdsShouldListMissingIds() {
+        when(productService.getProductsByIds(List.of(1L, 42L)))
+                .thenReturn(new ProductLookup(List.of(product), List.of(42L)));
+
+        ResponseEntity<ProductDocument> response = productController.getByIds(List.of(1L, 42L));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertThat(json(response))
+                .extracting("meta")
+                .isEqualTo(Map.of("missing", List.of(42L)));
+        assertThat(json(response))
+                .extracting("data")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("✅ GET /products/autocomplete - Should return ids and names only")
+    void autocompleteShouldReturnIdsAndNames() {
+        when(productService.suggestProducts("cam", 10))
+                .thenReturn(List.of(new ProductSuggestion(7L, "Cámara Canon EOS R6")));
+
+        ResponseEntity<Map<String, Object>> response = productController.autocomplete("cam", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("data")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .singleElement()
+                .extracting("attributes")
+                .isEqualTo(Map.of("id", 7L, "name", "Cámara Canon EOS R6"));
+    }
+
+    @Test
+    @DisplayName("❌ GET /products - Should reject unknown sort")
+    void getAllShouldRejectUnknownSort() {
+        assertThrows(InvalidPageRequestException.class,
+                () -> productController.getAll(20, null, "stock", null, null, null, request));
+    }
+
+    @Test
+    @DisplayName("✅ GET /products/export - Should stream one JSON object per line")
+    @SuppressWarnings("unchecked")
+    void exportShouldStreamNdjson() throws IOException {
+        Product second = new Product(2L, "Second", 200.0, null, 0L);
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product);
+            consumer.accept(second);
+            return null;
+        }).when(productService).exportProducts(any());
+
+        ResponseEntity<StreamingResponseBody> response = productController.export();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n"))
+                .hasSize(2)
+                .satisfiesExactly(
+                        line -> assertThat(line).contains("\"name\":\"Test Product\""),
+                        line -> assertThat(line).contains("\"id\":2"));
+    }
+
+    /**
+     * Renders the document the way Jackson writes it to the response, read
+     * back with longs for ids.
+     */
+    private Map<String, Object> json(ResponseEntity<ProductDocument> response) {
+        try {
+            return objectMapper.copy()
+                    .enable(DeserializationFeature.USE_LONG_FOR_INTS)
+                    .readValue(objectMapper.writeValueAsBytes(response.getBody()), new TypeReference<>() {
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Dispatches through Spring MVC so that request-body validation and the
+     * exception handler take part, which calling the controller directly skips.
+     */
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,205 @@
+package com.marcos.products_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPageStream;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.exception.RestExceptionHandler;
+import com.marcos.products_service.model.Product;
+import com.marcos.products_service.service.ReactiveProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductControllerTest {
+
+    @Mock
+    private ReactiveProductService productService;
+
+    private WebTestClient client;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToController(new ReactiveProductController(productService, new ObjectMapper()))
+                .controllerAdvice(new RestExceptionHandler())
+                .build();
+        product = new Product(1L, "Test Product", 100.0, "Test Description", 3L);
+    }
+
+    @Test
+    @DisplayName("✅ POST /products - Should return 201 CREATED with the product's ETag")
+    void createProductShouldReturnCreated() {
+        when(productService.createProduct(any())).thenReturn(Mono.just(product));
+
+        client.post().uri("/api/v1/products")
+                .bodyValue(new ProductDTO("Test Product", 100.0, "Test Description"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.data.attributes.name").isEqualTo("Test Product");
+    }
+
+    @Test
+    @DisplayName("❌ POST /products - Should return 400 with JSON:API errors for an invalid product")
+    void createInvalidProductShouldReturnBadRequest() {
+        client.post().uri("/api/v1/products")
+                .bodyValue(new ProductDTO("", 100.0, null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].source.pointer").isEqualTo("/data/attributes/name");
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("✅ GET /products - Should stream the page with a next link")
+    void getAllShouldStreamPage() {
+        Product second = new Product(2L, "Second", 200.0, null, 0L);
+        Product extra = new Product(3L, "Extra", 300.0, null, 0L);
+        when(productService.getProducts(ProductSort.ID, ProductFilter.NONE, null, 2))
+                .thenReturn(new ProductPageStream(ProductSort.ID, 2, Flux.just(product, second, extra)));
+
+        client.get().uri("/api/v1/products?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[1].attributes.id").isEqualTo(2)
+                .jsonPath("$.links.self").isEqualTo("/api/v1/products?sort=id&limit=2")
+                .jsonPath("$.links.next").value(next -> ((String) next).contains("cursor="));
+    }
+
+    @Test
+    @DisplayName("❌ GET /products - Should return 400 for an unsupported sort")
+    void getAllWithUnsupportedSortShouldReturnBadRequest() {
+        client.get().uri("/api/v1/products?sort=rating")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].source.parameter").isEqualTo("sort");
+    }
+
+    @Test
+    @DisplayName("✅ GET /products?ids - Should list missing ids in meta")
+    void getByIdsShouldListMissing() {
+        when(productService.getProductsByIds(List.of(1L, 9L)))
+                .thenReturn(Mono.just(new ProductLookup(List.of(product), List.of(9L))));
+
+        client.get().uri("/api/v1/products?ids=1,9")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].attributes.id").isEqualTo(1)
+                .jsonPath("$.meta.missing[0]").isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("✅ GET /products/{id} - Should return 304 when the version still matches")
+    void getByIdShouldReturnNotModified() {
+        when(productService.getProductVersion(1L)).thenReturn(Mono.just(3L));
+
+        client.get().uri("/api/v1/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        verify(productService, never()).getProductById(anyLong());
+    }
+
+    @Test
+    @DisplayName("❌ GET /products/{id} - Should return 404 when product is missing")
+    void getByIdShouldReturnNotFound() {
+        when(productService.getProductById(1L)).thenReturn(Mono.empty());
+
+        client.get().uri("/api/v1/products/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("✅ PUT /products/{id} - Should update at the version named by If-Match")
+    void updateShouldUseIfMatchVersion() {
+        when(productService.updateProduct(eq(1L), any(), eq(3L))).thenReturn(Mono.just(product));
+
+        client.put().uri("/api/v1/products/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .bodyValue(new ProductDTO("Test Product", 100.0, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"");
+    }
+
+    @Test
+    @DisplayName("❌ PUT /products/{id} - Should return 412 for a weak If-Match")
+    void updateWithWeakIfMatchShouldFail() {
+        client.put().uri("/api/v1/products/1")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .bodyValue(new ProductDTO("Test Product", 100.0, null))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("✅ PATCH /products/{id} - Should accept a merge patch")
+    void patchShouldAcceptMergePatch() {
+        when(productService.patchProduct(eq(1L), any())).thenReturn(Mono.just(product));
+
+        client.patch().uri("/api/v1/products/1")
+                .contentType(MediaType.valueOf(ProductController.MERGE_PATCH_JSON_VALUE))
+                .bodyValue(Map.of("price", 100.0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.attributes.price").isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("❌ DELETE /products/{id} - Should return 404 when product is missing")
+    void deleteShouldReturnNotFound() {
+        when(productService.deleteProduct(1L)).thenReturn(Mono.error(new ProductNotFoundException(1L)));
+
+        client.delete().uri("/api/v1/products/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("✅ GET /products/export - Should write one JSON object per line")
+    void exportShouldWriteNdjson() {
+        when(productService.exportProducts()).thenReturn(Flux.just(product, new Product(2L, "Cable", 10.0, null)));
+
+        client.get().uri("/api/v1/products/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertThat(body.split("\n"))
+                        .hasSize(2)
+                        .allMatch(line -> line.startsWith("{\"id\":")));
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import com.marcos.products_service.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCursorTest {
+
+    @DisplayName("✅ Cursor should survive an encode/decode round trip")
+    @ParameterizedTest
+    @EnumSource(ProductSort.class)
+    void cursorShouldRoundTrip(ProductSort sort) {
+        Product product = new Product(42L, "Cámara: Canon EOS R6", 1999.0, null);
+        ProductCursor cursor = ProductCursor.of(sort, product);
+
+        ProductCursor decoded = ProductCursor.decode(cursor.encode(), sort);
+
+        assertEquals(cursor, decoded);
+        assertEquals(42L, decoded.id());
+    }
+
+    @DisplayName("❌ Malformed cursor should be rejected")
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "Zm9v", "SUQ6YWJjOg"})
+    void malformedCursorShouldBeRejected(String token) {
+        InvalidPageRequestException exception = assertThrows(
+                InvalidPageRequestException.class,
+                () -> ProductCursor.decode(token, ProductSort.ID));
+
+        assertEquals("cursor", exception.getParameter());
+    }
+
+    @DisplayName("❌ Cursor issued for another sort should be rejected")
+    @Test
+    void cursorForAnotherSortShouldBeRejected() {
+        String token = new ProductCursor(ProductSort.NAME, 1L, "Laptop").encode();
+
+        assertThrows(InvalidPageRequestException.class, () -> ProductCursor.decode(token, ProductSort.PRICE));
+    }
+
+}
@@ -54,6 +54,26 @@ class ProductDTOTest {
         assertEquals("Product price must be positive", violations.iterator().next().getMessage());
     }
 
+    @Test
+    @DisplayName("Should fail validation when name is longer than its column")
+    void shouldFailValidationWhenNameIsTooLong() {
+        ProductDTO productDTO = new ProductDTO("x".repeat(101), 10.0, "Description");
+
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(productDTO);
+
+        assertEquals("Product name must be at most 100 characters", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should fail validation when price doesn't fit two decimals")
+    void shouldFailValidationWhenPriceDoesNotFitColumn() {
+        assertEquals("Product price must be positive",
+                validator.validate(new ProductDTO("Valid Name", 0.001, null)).iterator().next().getMessage());
+        assertEquals("Product price must be at most 99999999.99",
+                validator.validate(new ProductDTO("Valid Name", 1e8, null)).iterator().next().getMessage());
+        assertTrue(validator.validate(new ProductDTO("Valid Name", 99999999.99, null)).isEmpty());
+    }
+
     @Test
     @DisplayName("Should allow null or empty description")
     void shouldAllowNullOrEmptyDescription() {
@@ -0,0 +1,63 @@
+package com.marcos.products_service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.products_service.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductDocumentTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Product product = new Product(1L, "Monitor 4K", 450.75, "27 inch", 3L);
+
+    @Test
+    @DisplayName("✅ Single product should be written as a JSON:API resource")
+    void singleProductShouldBeWrittenAsResource() throws JsonProcessingException {
+        assertEquals("{\"data\":{\"type\":\"product\",\"attributes\":"
+                        + "{\"id\":1,\"name\":\"Monitor 4K\",\"price\":450.75,\"description\":\"27 inch\"}}}",
+                objectMapper.writeValueAsString(ProductDocument.of(product)));
+    }
+
+    @Test
+    @DisplayName("✅ Missing description should be written as null")
+    void missingDescriptionShouldBeWrittenAsNull() throws JsonProcessingException {
+        Product withoutDescription = new Product(2L, "Cable", 10.0, null);
+
+        assertEquals("{\"data\":[{\"type\":\"product\",\"attributes\":"
+                        + "{\"id\":2,\"name\":\"Cable\",\"price\":10.0,\"description\":null}}]}",
+                objectMapper.writeValueAsString(ProductDocument.of(List.of(withoutDescription))));
+    }
+
+    @Test
+    @DisplayName("✅ Page should carry self and next links")
+    void pageShouldCarryLinks() throws JsonProcessingException {
+        ProductPage page = new ProductPage(List.of(), "abc");
+
+        assertEquals("{\"data\":[],\"links\":{\"self\":\"/products\",\"next\":\"/products?cursor=abc\"}}",
+                objectMapper.writeValueAsString(ProductDocument.of(page, "/products", "/products?cursor=abc")));
+    }
+
+    @Test
+    @DisplayName("✅ Last page should only carry a self link")
+    void lastPageShouldOnlyCarrySelfLink() throws JsonProcessingException {
+        ProductPage page = new ProductPage(List.of(), null);
+
+        assertEquals("{\"data\":[],\"links\":{\"self\":\"/products\"}}",
+                objectMapper.writeValueAsString(ProductDocument.of(page, "/products", null)));
+    }
+
+    @Test
+    @DisplayName("✅ Lookup should list missing ids in meta")
+    void lookupShouldListMissingIds() throws JsonProcessingException {
+        ProductLookup lookup = new ProductLookup(List.of(), List.of(42L, 7L));
+
+        assertEquals("{\"data\":[],\"meta\":{\"missing\":[42,7]}}",
+                objectMapper.writeValueAsString(ProductDocument.of(lookup)));
+    }
+
+}
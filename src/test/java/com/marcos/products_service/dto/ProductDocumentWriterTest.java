@@ -0,0 +1,89 @@
+package com.marcos.products_service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.products_service.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductDocumentWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Function<String, String> pageLink =
+            cursor -> cursor == null ? "/products" : "/products?cursor=" + cursor;
+
+    private final Product first = new Product(1L, "Cable", 10.0, null, 0L);
+    private final Product second = new Product(2L, "Monitor \"4K\"", 450.75, "27 inch", 3L);
+    private final Product third = new Product(3L, "Mouse", 25.0, "Wireless", 1L);
+
+    @Test
+    @DisplayName("✅ Streamed page should match the serialized page")
+    void streamedPageShouldMatchSerializedPage() throws JsonProcessingException {
+        ProductPageStream stream = new ProductPageStream(ProductSort.ID, 2, Flux.just(first, second, third));
+        ProductPage page = ProductPage.of(ProductSort.ID, List.of(first, second, third), 2);
+
+        String expected = objectMapper.writeValueAsString(
+                ProductDocument.of(page, "/products", pageLink.apply(page.nextCursor())));
+
+        assertEquals(expected, write(stream, null));
+    }
+
+    @Test
+    @DisplayName("✅ Last page should only carry a self link")
+    void lastPageShouldOnlyCarrySelfLink() throws JsonProcessingException {
+        ProductPageStream stream = new ProductPageStream(ProductSort.PRICE, 2, Flux.just(first, second));
+        String cursor = ProductCursor.of(ProductSort.PRICE, first).encode();
+
+        String expected = objectMapper.writeValueAsString(ProductDocument.of(
+                new ProductPage(List.of(first, second), null), pageLink.apply(cursor), null));
+
+        assertEquals(expected, write(stream, cursor));
+    }
+
+    @Test
+    @DisplayName("✅ Empty page should still be a collection document")
+    void emptyPageShouldBeCollectionDocument() {
+        ProductPageStream stream = new ProductPageStream(ProductSort.ID, 2, Flux.empty());
+
+        assertEquals("{\"data\":[],\"links\":{\"self\":\"/products\"}}", write(stream, null));
+    }
+
+    @Test
+    @DisplayName("✅ Each product should be its own chunk")
+    void eachProductShouldBeItsOwnChunk() {
+        ProductPageStream stream = new ProductPageStream(ProductSort.ID, 2, Flux.just(first, second, third));
+
+        List<byte[]> chunks = ProductDocumentWriter.write(stream, null, pageLink).collectList().block();
+
+        assertThat(chunks).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("❌ A failing query should fail before anything is written")
+    void failingQueryShouldFailBeforeAnythingIsWritten() {
+        ProductPageStream stream = new ProductPageStream(ProductSort.ID, 2,
+                Flux.error(new IllegalStateException("connection refused")));
+
+        StepVerifier.create(ProductDocumentWriter.write(stream, null, pageLink))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    private String write(ProductPageStream stream, String cursor) {
+        StringBuilder document = new StringBuilder();
+        ProductDocumentWriter.write(stream, cursor, pageLink)
+                .doOnNext(chunk -> document.append(new String(chunk, StandardCharsets.UTF_8)))
+                .blockLast();
+        return document.toString();
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFilterTest {
+
+    @DisplayName("✅ Filter should match price bounds inclusively and names case-insensitively")
+    @Test
+    void filterShouldMatchBoundsAndName() {
+        ProductFilter filter = new ProductFilter(10.0, 20.0, "CÁM");
+
+        assertTrue(filter.matches(10.0, "Cámara Canon"));
+        assertTrue(filter.matches(20.0, "Webcam y cámara"));
+        assertFalse(filter.matches(20.01, "Cámara Canon"));
+        assertFalse(filter.matches(15.0, "Monitor"));
+        assertTrue(ProductFilter.NONE.matches(0.0, "Anything"));
+    }
+
+    @DisplayName("✅ Blank name filter should be ignored")
+    @Test
+    void blankNameShouldBeIgnored() {
+        assertTrue(new ProductFilter(null, null, "  ").isEmpty());
+    }
+
+    @DisplayName("❌ Invalid filters should be rejected")
+    @Test
+    void invalidFiltersShouldBeRejected() {
+        assertEquals("minPrice", assertThrows(InvalidPageRequestException.class,
+                () -> new ProductFilter(20.0, 10.0, null)).getParameter());
+        assertEquals("maxPrice", assertThrows(InvalidPageRequestException.class,
+                () -> new ProductFilter(null, Double.NaN, null)).getParameter());
+        assertEquals("nameContains", assertThrows(InvalidPageRequestException.class,
+                () -> new ProductFilter(null, null, "ab")).getParameter());
+    }
+
+}
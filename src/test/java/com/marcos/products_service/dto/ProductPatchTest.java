@@ -0,0 +1,68 @@
+package com.marcos.products_service.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.products_service.exception.InvalidProductPatchException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("✅ Only the members present should become changes")
+    void onlyPresentMembersShouldChange() throws Exception {
+        ProductPatch patch = ProductPatch.from(objectMapper.readTree("{\"price\": 19.99}"));
+
+        assertThat(patch.changes()).containsExactly(Map.entry("price", 19.99));
+    }
+
+    @Test
+    @DisplayName("✅ Null should clear the description")
+    void nullShouldClearDescription() throws Exception {
+        ProductPatch patch = ProductPatch.from(objectMapper.readTree("{\"description\": null}"));
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("description", null);
+        assertThat(patch.changes()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("✅ An empty document should be an empty patch")
+    void emptyDocumentShouldBeEmptyPatch() throws Exception {
+        assertThat(ProductPatch.from(objectMapper.readTree("{}")).isEmpty()).isTrue();
+    }
+
+    @DisplayName("❌ Malformed members should be rejected")
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "{\"price\": null}|price",
+            "{\"price\": \"cheap\"}|price",
+            "{\"name\": 42}|name",
+            "{\"version\": 3}|version",
+            "{\"id\": 3}|id"
+    })
+    void malformedMembersShouldBeRejected(String document, String attribute) {
+        assertThatThrownBy(() -> ProductPatch.from(objectMapper.readTree(document)))
+                .isInstanceOfSatisfying(InvalidProductPatchException.class, ex ->
+                        assertThat(ex.getViolations()).singleElement()
+                                .extracting(InvalidProductPatchException.Violation::attribute)
+                                .isEqualTo(attribute));
+    }
+
+    @Test
+    @DisplayName("❌ Documents other than objects should be rejected")
+    void nonObjectDocumentsShouldBeRejected() {
+        assertThatThrownBy(() -> ProductPatch.from(objectMapper.readTree("[1, 2]")))
+                .isInstanceOf(InvalidProductPatchException.class);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.marcos.products_service.dto;
+
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import com.marcos.products_service.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchCursorTest {
+
+    @DisplayName("✅ Search cursor should keep the exact rank through a round trip")
+    @ParameterizedTest
+    @ValueSource(floats = {0f, 0.0607927f, 0.1f, 1e-20f, 0.99999994f})
+    void cursorShouldRoundTripExactRank(float rank) {
+        ProductSearchHit hit = new ProductSearchHit(new Product(42L, "Monitor 4K", 450.75, null), rank);
+        ProductSearchCursor cursor = ProductSearchCursor.of(hit);
+
+        ProductSearchCursor decoded = ProductSearchCursor.decode(cursor.encode());
+
+        assertEquals(Float.floatToIntBits(rank), Float.floatToIntBits(decoded.rank()));
+        assertEquals(42L, decoded.id());
+    }
+
+    @DisplayName("❌ Malformed search cursor should be rejected")
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "Zm9v", "eno6MQ"})
+    void malformedCursorShouldBeRejected(String token) {
+        InvalidPageRequestException exception = assertThrows(
+                InvalidPageRequestException.class,
+                () -> ProductSearchCursor.decode(token));
+
+        assertEquals("cursor", exception.getParameter());
+    }
+
+}
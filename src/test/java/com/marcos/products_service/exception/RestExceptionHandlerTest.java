@@ -1,17 +1,32 @@
 package com.marcos.products_service.exception;
 
+import com.marcos.products_service.controller.ProductController;
+import com.marcos.products_service.dto.ProductDTO;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.MethodValidationResult;
+import org.springframework.validation.method.ParameterErrors;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
+import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
 
@@ -56,6 +71,80 @@ class RestExceptionHandlerTest {
                 .containsEntry("source", Map.of("pointer", "/data/attributes/name"));
     }
 
+    @Test
+    @DisplayName("Should handle reactive binding errors according to JSON API")
+    void handleBindErrors() {
+        // Arrange
+        BindingResult bindingResult = new BeanPropertyBindingResult(new ProductDTO("", 1.0, null), "productDTO");
+        bindingResult.addError(new FieldError("productDTO", "name", "must not be blank"));
+
+        WebExchangeBindException ex = new WebExchangeBindException(mock(MethodParameter.class), bindingResult);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleBindErrors(ex);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .first()
+                .asInstanceOf(MAP)
+                .containsEntry("detail", "must not be blank")
+                .containsEntry("source", Map.of("pointer", "/data/attributes/name"));
+    }
+
+    @Test
+    @DisplayName("Should point batch validation errors at the offending item")
+    void handleMethodValidationErrors() throws NoSuchMethodException {
+        // Arrange
+        Method method = ProductController.class.getMethod("createProducts", List.class);
+        ProductDTO invalid = new ProductDTO("", 10.0, null);
+        List<ProductDTO> batch = List.of(new ProductDTO("Valid", 10.0, null), invalid);
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(invalid, "productDTO");
+        errors.rejectValue("name", "NotBlank", "Product name cannot be blank");
+        ParameterErrors parameterErrors = new ParameterErrors(
+                new MethodParameter(method, 0), invalid, errors, batch, 1, null);
+
+        HandlerMethodValidationException ex = new HandlerMethodValidationException(
+                MethodValidationResult.create(new Object(), method, List.of(parameterErrors)));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                exceptionHandler.handleMethodValidationErrors(ex);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .singleElement()
+                .asInstanceOf(MAP)
+                .containsEntry("detail", "Product name cannot be blank")
+                .containsEntry("source", Map.of("pointer", "/data/1/attributes/name"));
+    }
+
+    @Test
+    @DisplayName("Should point patch violations at the offending attribute")
+    void handleInvalidPatch() {
+        // Arrange
+        InvalidProductPatchException ex = new InvalidProductPatchException(List.of(
+                new InvalidProductPatchException.Violation("price", "Product price must be positive"),
+                new InvalidProductPatchException.Violation(null, "A merge patch must be a JSON object")));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                exceptionHandler.handleInvalidPatch(ex);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .extracting("source")
+                .containsExactly(Map.of("pointer", "/data/attributes/price"), Map.of("pointer", "/data"));
+    }
+
     @Test
     @DisplayName("Should handle ProductNotFoundException")
     void handleProductNotFound() {
@@ -77,6 +166,148 @@ class RestExceptionHandlerTest {
                 .containsEntry("source", Map.of("pointer", "/data/id"));
     }
 
+    @Test
+    @DisplayName("Should handle invalid page requests")
+    void handleInvalidPageRequest() {
+        // Arrange
+        InvalidPageRequestException ex = new InvalidPageRequestException("cursor", "Malformed pagination cursor");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                exceptionHandler.handleInvalidPageRequest(ex);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .first()
+                .asInstanceOf(MAP)
+                .containsEntry("detail", "Malformed pagination cursor")
+                .containsEntry("source", Map.of("parameter", "cursor"));
+    }
+
+    @Test
+    @DisplayName("Should handle unreadable imports")
+    void handleInvalidImport() {
+        // Arrange
+        InvalidImportException ex = new InvalidImportException("Unreadable CSV upload");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                exceptionHandler.handleInvalidImport(ex);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .first()
+                .asInstanceOf(MAP)
+                .containsEntry("title", "Invalid Import");
+    }
+
+    @Test
+    @DisplayName("Should answer stale If-Match versions with 412")
+    void handleVersionMismatch() {
+        // Arrange
+        ProductVersionMismatchException ex = new ProductVersionMismatchException(1L, 2L);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                exceptionHandler.handleVersionMismatch(ex);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .singleElement()
+                .asInstanceOf(MAP)
+                .containsEntry("source", Map.of("header", "If-Match"));
+    }
+
+    @Test
+    @DisplayName("Should answer lost optimistic locking races with 409")
+    void handleOptimisticLockingFailure() {
+        // Arrange
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                exceptionHandler.handleOptimisticLockingFailure(ex);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should shed requests over the concurrency limit with 429 and Retry-After")
+    void handleConcurrencyLimitExceeded() {
+        // Arrange
+        ConcurrencyLimitExceededException ex = new ConcurrencyLimitExceededException(20);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                exceptionHandler.handleConcurrencyLimitExceeded(ex);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))
+                .isEqualTo(RestExceptionHandler.RETRY_AFTER_SECONDS);
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .singleElement()
+                .asInstanceOf(MAP)
+                .containsEntry("status", 429)
+                .containsEntry("title", "Too Many Requests");
+    }
+
+    @Test
+    @DisplayName("Should answer a full bulkhead with 503 and Retry-After")
+    void handleBulkheadFull() {
+        // Arrange
+        BulkheadFullException ex = BulkheadFullException.createBulkheadFullException(
+                Bulkhead.ofDefaults("productReads"));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleOverload(ex);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))
+                .isEqualTo(RestExceptionHandler.RETRY_AFTER_SECONDS);
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .singleElement()
+                .asInstanceOf(MAP)
+                .containsEntry("status", 503)
+                .containsEntry("detail", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should answer an open circuit breaker with 503")
+    void handleCircuitOpen() {
+        // Arrange
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("productRepository");
+        circuitBreaker.transitionToOpenState();
+        CallNotPermittedException ex = CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleOverload(ex);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertThat(response.getBody())
+                .extracting("errors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .singleElement()
+                .asInstanceOf(MAP)
+                .containsEntry("title", "Service Unavailable");
+    }
+
     @Test
     @DisplayName("Should handle generic exceptions")
     void handleGenericException() {
@@ -0,0 +1,117 @@
+package com.marcos.products_service.integration;
+
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductImportFormat;
+import com.marcos.products_service.model.Product;
+import com.marcos.products_service.repository.ReactiveProductRepository;
+import com.marcos.products_service.service.ProductImportService;
+import com.marcos.products_service.service.ProductService;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the paths that reserve blocks of ids from {@code products_id_seq}
+ * themselves against a sequence whose first value hasn't been taken yet.
+ */
+@SpringBootTest
+@Testcontainers
+public class ProductIdBlockIntegrationTest {
+
+    private static final int ROWS = 2 * Product.ID_ALLOCATION_SIZE + 1;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCopyFileToContainer(MountableFile.forHostPath("deployment/init.sql"),
+                    "/docker-entrypoint-initdb.d/init.sql");
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @BeforeEach
+    void freshSequence() {
+        // As created: the next nextval() returns the start value, 1. Nothing else here takes ids through JPA
+        // before the imports, so Hibernate's optimizer holds no block from before the restart.
+        jdbcTemplate.execute("TRUNCATE products");
+        jdbcTemplate.execute("ALTER SEQUENCE products_id_seq RESTART");
+    }
+
+    @Test
+    void importShouldNotTakeIdsBelowOneOrCollideWithJpa() {
+        // Arrange
+        String upload = products().stream()
+                .map(product -> "{\"name\": \"%s\", \"price\": %s}".formatted(product.getName(), product.getPrice()))
+                .collect(Collectors.joining("\n"));
+
+        // Act
+        importService.importProducts(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), ProductImportFormat.NDJSON);
+        productService.createProducts(products());
+
+        // Assert
+        assertThat(jdbcTemplate.queryForObject("SELECT count(DISTINCT id) FROM products", Long.class))
+                .isEqualTo(2L * ROWS);
+        assertThat(jdbcTemplate.queryForObject("SELECT min(id) FROM products", Long.class)).isPositive();
+    }
+
+    @Test
+    void reactiveInsertShouldNotTakeIdsBelowOne() {
+        // Arrange
+        ReactiveProductRepository repository = new ReactiveProductRepository(DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:postgresql://%s:%s@%s:%d/%s".formatted(
+                        postgres.getUsername(), postgres.getPassword(), postgres.getHost(),
+                        postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), postgres.getDatabaseName()))));
+
+        // Act
+        List<Product> inserted = repository.insertAll(products()).collectList().block();
+
+        // Assert
+        assertThat(inserted)
+                .hasSize(ROWS)
+                .allSatisfy(product -> assertThat(product.getId()).isPositive())
+                .extracting(Product::getId)
+                .doesNotHaveDuplicates();
+    }
+
+    private static List<ProductDTO> products() {
+        return IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> new ProductDTO("Product " + i, i, null))
+                .toList();
+    }
+
+}
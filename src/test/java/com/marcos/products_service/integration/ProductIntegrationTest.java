@@ -2,6 +2,7 @@ package com.marcos.products_service.integration;
 
 import com.marcos.products_service.dto.ProductDTO;
 import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.metrics.QueryBudget;
 import com.marcos.products_service.model.Product;
 import com.marcos.products_service.service.ProductService;
 import org.junit.jupiter.api.Test;
@@ -59,6 +60,17 @@ public class ProductIntegrationTest {
         assertThat(found.getPrice()).isEqualTo(100.0);
     }
 
+    @Test
+    void writesShouldStayWithinTheirQueryBudget() throws Exception {
+        // Arrange
+        Product saved = productService.createProduct(new ProductDTO("Budget Product", 100.0, null));
+        ProductDTO update = new ProductDTO("Budget Product", 120.0, null);
+
+        // Act & Assert
+        QueryBudget.atMost(1).run(() -> productService.updateProduct(saved.getId(), update, saved.getVersion()));
+        QueryBudget.atMost(1).run(() -> productService.deleteProduct(saved.getId()));
+    }
+
     @Test
     void shouldFailWhenProductNotFound() {
         assertThatThrownBy(() -> productService.updateProduct(999L, new ProductDTO("None", 0, "")))
@@ -0,0 +1,127 @@
+package com.marcos.products_service.integration;
+
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.service.ProductService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN} on every query shape the filtered listing generates,
+ * against the production schema and a table large enough for the planner to
+ * prefer an index whenever one applies, and fails on a sequential scan.
+ */
+@SpringBootTest
+@Testcontainers
+public class ProductQueryPlanIntegrationTest {
+
+    private static final int SEEDED_ROWS = 200_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCopyFileToContainer(MountableFile.forHostPath("deployment/init.sql"),
+                    "/docker-entrypoint-initdb.d/init.sql");
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        // Inline the filter values so the captured SQL can be explained as is
+        registry.add("spring.jpa.properties.hibernate.criteria.value_handling_mode", () -> "inline");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                CapturingStatementInspector.class::getName);
+    }
+
+    @BeforeAll
+    static void seed() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO products (name, price, description)
+                    SELECT 'Item ' || md5(g::text), round((random() * 2000)::numeric, 2) + 0.01, 'Seeded row ' || g
+                      FROM generate_series(1, %d) g""".formatted(SEEDED_ROWS));
+            statement.execute("ANALYZE products");
+        }
+    }
+
+    static Stream<Arguments> queryShapes() {
+        List<ProductFilter> filters = List.of(
+                new ProductFilter(100.0, 110.0, null),
+                new ProductFilter(1990.0, null, null),
+                new ProductFilter(null, null, "abc1"),
+                new ProductFilter(10.0, 500.0, "abc"));
+        return Stream.of(ProductSort.values())
+                .flatMap(sort -> filters.stream()
+                        .flatMap(filter -> Stream.of(Arguments.of(sort, filter, false), Arguments.of(sort, filter, true))));
+    }
+
+    @ParameterizedTest(name = "{0} {1} after cursor: {2}")
+    @MethodSource("queryShapes")
+    void filteredListingShouldNotScanSequentially(ProductSort sort, ProductFilter filter, boolean afterCursor) {
+        String cursor = null;
+        if (afterCursor) {
+            ProductPage firstPage = productService.getProducts(sort, filter, null, 1);
+            assertThat(firstPage.hasNext()).as("seeded data should give this filter a second page").isTrue();
+            cursor = firstPage.nextCursor();
+        }
+
+        CapturingStatementInspector.STATEMENTS.clear();
+        productService.getProducts(sort, filter, cursor, 20);
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("from products"))
+                .reduce((first, last) -> last)
+                .orElseThrow();
+
+        // Only the row limit is left as a parameter
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql.replace("?", "21"), String.class));
+
+        assertThat(plan).as("plan for %s", sql).doesNotContain("Seq Scan");
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.marcos.products_service.limit;
+
+import com.marcos.products_service.config.ProductConcurrencyLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AimdConcurrencyLimitTest {
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(300);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AimdConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        limit = limit(20, 4, 200);
+    }
+
+    @Test
+    @DisplayName("✅ Should let requests in up to the limit and one more once a permit completes")
+    void shouldRejectOverTheLimit() {
+        limit = limit(4, 4, 4);
+        List<AimdConcurrencyLimit.Permit> permits = acquire(4);
+
+        assertThat(limit.tryAcquire()).isEmpty();
+        assertThat(limit.inFlight()).isEqualTo(4);
+
+        permits.get(0).success();
+
+        assertThat(limit.tryAcquire()).isPresent();
+    }
+
+    @Test
+    @DisplayName("✅ Should raise the limit while fast requests keep it at least half used")
+    void shouldIncreaseAdditively() {
+        limit = limit(4, 4, 200);
+
+        for (int round = 0; round < 4; round++) {
+            List<AimdConcurrencyLimit.Permit> permits = acquire(limit.limit());
+            clock.addAndGet(FAST);
+            permits.forEach(AimdConcurrencyLimit.Permit::success);
+        }
+
+        assertThat(limit.limit()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("✅ Should not raise a limit that is not being used")
+    void shouldNotIncreaseWhenUnderused() {
+        for (int i = 0; i < 1000; i++) {
+            AimdConcurrencyLimit.Permit permit = limit.tryAcquire().orElseThrow();
+            clock.addAndGet(FAST);
+            permit.success();
+        }
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("✅ Should back off once per round of requests slower than the threshold")
+    void shouldBackOffOncePerRound() {
+        List<AimdConcurrencyLimit.Permit> permits = acquire(10);
+        clock.addAndGet(SLOW);
+        permits.forEach(AimdConcurrencyLimit.Permit::success);
+
+        assertThat(limit.limit()).isEqualTo(18);
+
+        AimdConcurrencyLimit.Permit next = limit.tryAcquire().orElseThrow();
+        clock.addAndGet(SLOW);
+        next.success();
+
+        assertThat(limit.limit()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("✅ Should back off when a request fails from overload, however fast")
+    void shouldBackOffOnOverload() {
+        AimdConcurrencyLimit.Permit permit = limit.tryAcquire().orElseThrow();
+        clock.addAndGet(FAST);
+
+        permit.overloaded();
+
+        assertThat(limit.limit()).isEqualTo(18);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should release ignored permits without moving the limit")
+    void shouldIgnoreSamples() {
+        AimdConcurrencyLimit.Permit permit = limit.tryAcquire().orElseThrow();
+        clock.addAndGet(SLOW);
+
+        permit.ignore();
+
+        assertThat(limit.limit()).isEqualTo(20);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should never back off below the minimum limit")
+    void shouldStayAboveMinimum() {
+        for (int i = 0; i < 100; i++) {
+            AimdConcurrencyLimit.Permit permit = limit.tryAcquire().orElseThrow();
+            clock.addAndGet(SLOW);
+            permit.success();
+        }
+
+        assertThat(limit.limit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("✅ Should never grow past the maximum limit")
+    void shouldStayBelowMaximum() {
+        limit = limit(4, 4, 5);
+
+        for (int round = 0; round < 20; round++) {
+            List<AimdConcurrencyLimit.Permit> permits = acquire(limit.limit());
+            clock.addAndGet(FAST);
+            permits.forEach(AimdConcurrencyLimit.Permit::success);
+        }
+
+        assertThat(limit.limit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("❌ Should reject limits that cannot be satisfied")
+    void shouldRejectInvalidLimits() {
+        assertThatThrownBy(() -> limit(20, 0, 200)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limit(20, 50, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdConcurrencyLimit(
+                new ProductConcurrencyLimitProperties(true, 20, 4, 200, Duration.ofMillis(250), 1.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AimdConcurrencyLimit limit(int initial, int min, int max) {
+        return new AimdConcurrencyLimit(
+                new ProductConcurrencyLimitProperties(true, initial, min, max, Duration.ofMillis(250), 0.9),
+                clock::get);
+    }
+
+    private List<AimdConcurrencyLimit.Permit> acquire(int count) {
+        clock.incrementAndGet();
+        List<AimdConcurrencyLimit.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limit.tryAcquire().orElseThrow());
+        }
+        return permits;
+    }
+
+}
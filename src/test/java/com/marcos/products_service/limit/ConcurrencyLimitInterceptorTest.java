@@ -0,0 +1,154 @@
+package com.marcos.products_service.limit;
+
+import com.marcos.products_service.config.ProductConcurrencyLimitProperties;
+import com.marcos.products_service.controller.ProductController;
+import com.marcos.products_service.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AimdConcurrencyLimit limit;
+    private ConcurrencyLimitInterceptor interceptor;
+    private MockHttpServletResponse response;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        limit = new AimdConcurrencyLimit(
+                new ProductConcurrencyLimitProperties(true, 4, 4, 200, Duration.ofMinutes(1), 0.5));
+        interceptor = new ConcurrencyLimitInterceptor(limit, meterRegistry);
+        response = new MockHttpServletResponse();
+        handler = new HandlerMethod(mock(ProductController.class),
+                ProductController.class.getMethod("delete", Long.class));
+    }
+
+    @Test
+    @DisplayName("✅ Should hold a permit for the duration of a request")
+    void shouldHoldPermitPerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, response, handler);
+
+        assertThat(meterRegistry.get(ConcurrencyLimitInterceptor.IN_FLIGHT).gauge().value()).isEqualTo(1);
+
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(limit.inFlight()).isZero();
+        assertThat(meterRegistry.get(ConcurrencyLimitInterceptor.LIMIT).gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("❌ Should shed requests over the limit and count them")
+    void shouldShedOverTheLimit() {
+        for (int i = 0; i < 4; i++) {
+            interceptor.preHandle(new MockHttpServletRequest(), response, handler);
+        }
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, handler))
+                .isInstanceOf(ConcurrencyLimitExceededException.class)
+                .hasMessageContaining("limit is 4");
+        assertThat(meterRegistry.get(ConcurrencyLimitInterceptor.REJECTED).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should treat a failed database call as overload and back off")
+    void shouldBackOffOnDatabaseFailures() {
+        limit = new AimdConcurrencyLimit(
+                new ProductConcurrencyLimitProperties(true, 8, 4, 200, Duration.ofMinutes(1), 0.5));
+        interceptor = new ConcurrencyLimitInterceptor(limit, new SimpleMeterRegistry());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, response, handler);
+        request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE, new QueryTimeoutException("statement timeout"));
+        response.setStatus(500);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(limit.limit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("✅ Should leave the limit alone on a 500 from an unrelated exception")
+    void shouldIgnoreUnrelatedServerErrors() {
+        limit = new AimdConcurrencyLimit(
+                new ProductConcurrencyLimitProperties(true, 8, 4, 200, Duration.ofMinutes(1), 0.5));
+        interceptor = new ConcurrencyLimitInterceptor(limit, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            MockHttpServletResponse failed = new MockHttpServletResponse();
+            interceptor.preHandle(request, failed, handler);
+            request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE, new IllegalStateException("bug"));
+            failed.setStatus(500);
+            interceptor.afterCompletion(request, failed, handler, null);
+        }
+        MockHttpServletRequest unresolved = new MockHttpServletRequest();
+        interceptor.preHandle(unresolved, response, handler);
+        interceptor.afterCompletion(unresolved, response, handler, new IllegalArgumentException("bad input"));
+
+        assertThat(limit.inFlight()).isZero();
+        assertThat(limit.limit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("✅ Should release a request shed downstream with 503 without backing off")
+    void shouldIgnoreServiceUnavailable() {
+        limit = new AimdConcurrencyLimit(
+                new ProductConcurrencyLimitProperties(true, 8, 4, 200, Duration.ofMinutes(1), 0.5));
+        interceptor = new ConcurrencyLimitInterceptor(limit, new SimpleMeterRegistry());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, response, handler);
+        response.setStatus(503);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(limit.inFlight()).isZero();
+        assertThat(limit.limit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("✅ Should release the permit when the request goes async and not take another")
+    void shouldReleaseAsyncRequests() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        assertThat(limit.inFlight()).isZero();
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(limit.inFlight()).isZero();
+        assertThat(limit.limit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("✅ Should let requests not handled by a controller method through")
+    void shouldIgnoreOtherHandlers() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(limit.inFlight()).isZero();
+    }
+
+}
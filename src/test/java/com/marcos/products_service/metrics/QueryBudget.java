@@ -0,0 +1,83 @@
+package com.marcos.products_service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Fails a test when code runs more JDBC statements than it is allowed to,
+ * e.g. an N+1 sneaking into an endpoint.
+ *
+ * <pre>{@code
+ * QueryBudget.atMost(1).run(() -> productService.deleteProduct(id));
+ * mockMvc.perform(delete("/api/v1/products/1"));
+ * QueryBudget.atMost(1).verifyRecorded(meterRegistry, "ProductController.delete");
+ * }</pre>
+ *
+ * <p>{@link #run} measures calls made on the test thread, which includes
+ * {@code MockMvc}; {@link #verifyRecorded} checks the requests recorded by
+ * {@link QueryMetricsInterceptor}, for tests calling a running server.</p>
+ */
+public final class QueryBudget {
+
+    private final int maxStatements;
+
+    private QueryBudget(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public static QueryBudget atMost(int maxStatements) {
+        return new QueryBudget(maxStatements);
+    }
+
+    public <T> T call(Callable<T> call) throws Exception {
+        QueryStats stats = QueryStats.start();
+        T result;
+        try {
+            result = call.call();
+        } finally {
+            stats.close();
+        }
+        check("call", stats.statements(), stats);
+        return result;
+    }
+
+    public QueryStats run(Action action) throws Exception {
+        QueryStats stats = QueryStats.start();
+        try {
+            action.run();
+        } finally {
+            stats.close();
+        }
+        check("call", stats.statements(), stats);
+        return stats;
+    }
+
+    /**
+     * Checks that no request recorded for {@code handler} ran more
+     * statements than the budget.
+     */
+    public void verifyRecorded(MeterRegistry meterRegistry, String handler) {
+        DistributionSummary statements = meterRegistry.find(QueryMetricsInterceptor.STATEMENTS)
+                .tag("handler", handler)
+                .summary();
+        if (statements == null || statements.count() == 0) {
+            throw new AssertionError("No request recorded for " + handler);
+        }
+        check(handler, (long) statements.max(), statements.count() + " request(s)");
+    }
+
+    private void check(String what, long statements, Object details) {
+        if (statements > maxStatements) {
+            throw new AssertionError(what + " ran " + statements + " statement(s), over its budget of "
+                    + maxStatements + " (" + details + ")");
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+}
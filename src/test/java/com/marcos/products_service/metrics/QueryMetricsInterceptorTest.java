@@ -0,0 +1,103 @@
+package com.marcos.products_service.metrics;
+
+import com.marcos.products_service.controller.ProductController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class QueryMetricsInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryMetricsInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new QueryMetricsInterceptor(meterRegistry);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        handler = new HandlerMethod(mock(ProductController.class),
+                ProductController.class.getMethod("delete", Long.class));
+    }
+
+    @Test
+    @DisplayName("✅ Should record the statements of a request under its handler")
+    void shouldRecordStatementsPerHandler() {
+        interceptor.preHandle(request, response, handler);
+        QueryStats.statementExecuted(1_000_000);
+        QueryStats.rowRead();
+        QueryStats.statementExecuted(2_000_000);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary statements = meterRegistry.get(QueryMetricsInterceptor.STATEMENTS)
+                .tag("handler", "ProductController.delete")
+                .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get(QueryMetricsInterceptor.ROWS).summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get(QueryMetricsInterceptor.TIME).timer().totalTime(
+                TimeUnit.MILLISECONDS)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("✅ Should stop counting when the request goes async and record it once")
+    void shouldRecordAsyncRequestOnce() {
+        interceptor.preHandle(request, response, handler);
+        QueryStats.statementExecuted(0);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        QueryStats.statementExecuted(0);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary statements = meterRegistry.get(QueryMetricsInterceptor.STATEMENTS).summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should ignore requests not handled by a controller method")
+    void shouldIgnoreOtherHandlers() {
+        Object resourceHandler = new Object();
+
+        interceptor.preHandle(request, response, resourceHandler);
+        interceptor.afterCompletion(request, response, resourceHandler, null);
+
+        assertThat(meterRegistry.find(QueryMetricsInterceptor.STATEMENTS).summary()).isNull();
+    }
+
+    @Test
+    @DisplayName("❌ QueryBudget - Should fail when a recorded request exceeded its budget")
+    void budgetShouldCheckRecordedRequests() {
+        interceptor.preHandle(request, response, handler);
+        QueryStats.statementExecuted(0);
+        QueryStats.statementExecuted(0);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        QueryBudget.atMost(2).verifyRecorded(meterRegistry, "ProductController.delete");
+        assertThatThrownBy(() -> QueryBudget.atMost(1)
+                .verifyRecorded(meterRegistry, "ProductController.delete"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("ProductController.delete ran 2 statement(s)");
+        assertThatThrownBy(() -> QueryBudget.atMost(1)
+                .verifyRecorded(meterRegistry, "ProductController.update"))
+                .hasMessageContaining("No request recorded");
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.marcos.products_service.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryStatsTest {
+
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+
+    private Timer statementTimer;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        lenient().when(statement.executeQuery()).thenReturn(resultSet);
+        lenient().when(resultSet.next()).thenReturn(true, true, false);
+        statementTimer = Timer.builder("test.query").register(new SimpleMeterRegistry());
+        dataSource = QueryStats.countingProxy(target, "test", statementTimer);
+    }
+
+    @Test
+    @DisplayName("✅ Should count statements and the rows read from them")
+    void shouldCountStatementsAndRows() throws SQLException {
+        try (QueryStats stats = QueryStats.start()) {
+            select();
+            update();
+
+            assertThat(stats.statements()).isEqualTo(2);
+            assertThat(stats.rows()).isEqualTo(2);
+            assertThat(stats.time()).isPositive();
+        }
+        assertThat(statementTimer.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("✅ Should count work in every open scope")
+    void shouldCountInNestedScopes() throws SQLException {
+        try (QueryStats request = QueryStats.start()) {
+            select();
+            try (QueryStats call = QueryStats.start()) {
+                update();
+
+                assertThat(call.statements()).isEqualTo(1);
+            }
+            update();
+
+            assertThat(request.statements()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Should stop counting once closed")
+    void shouldStopCountingOnceClosed() throws SQLException {
+        QueryStats stats = QueryStats.start();
+        update();
+        stats.close();
+        update();
+
+        assertThat(stats.statements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should not count work done on other threads")
+    void shouldNotCountOtherThreads() throws Exception {
+        try (QueryStats stats = QueryStats.start()) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    update();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get();
+
+            assertThat(stats.statements()).isZero();
+        }
+        assertThat(statementTimer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("❌ QueryBudget - Should fail a call running more statements than its budget")
+    void budgetShouldFailWhenExceeded() throws Exception {
+        QueryBudget.atMost(2).run(() -> {
+            select();
+            update();
+        });
+
+        assertThatThrownBy(() -> QueryBudget.atMost(1).run(() -> {
+            select();
+            update();
+        }))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("ran 2 statement(s), over its budget of 1");
+    }
+
+    private void select() throws SQLException {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT name FROM products");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rs.getString(1);
+            }
+        }
+    }
+
+    private void update() throws SQLException {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("UPDATE products SET price = 1")) {
+            ps.executeUpdate();
+        }
+    }
+
+}
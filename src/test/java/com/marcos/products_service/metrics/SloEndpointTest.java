@@ -0,0 +1,79 @@
+package com.marcos.products_service.metrics;
+
+import com.marcos.products_service.config.ProductSloProperties;
+import com.marcos.products_service.config.ProductSloProperties.Objectives;
+import com.marcos.products_service.metrics.SloEndpoint.OperationReport;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SloEndpointTest {
+
+    private OperationTimers operationTimers;
+    private SloEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        ProductSloProperties properties = new ProductSloProperties(Map.of(
+                "getProductById", new Objectives(Duration.ofMillis(5), Duration.ofMillis(50), null)));
+        operationTimers = new OperationTimers(new SimpleMeterRegistry(), properties);
+        endpoint = new SloEndpoint(operationTimers);
+    }
+
+    @Test
+    @DisplayName("✅ Should report percentiles within their objectives")
+    void shouldReportPercentilesWithinObjectives() {
+        Timer timer = operationTimers.timer("getProductById");
+        for (int i = 0; i < 100; i++) {
+            timer.record(2, TimeUnit.MILLISECONDS);
+        }
+
+        OperationReport report = endpoint.slo().operations().get("getProductById");
+
+        assertThat(report.count()).isEqualTo(100);
+        assertThat(report.p50()).isCloseTo(2, within(0.5));
+        assertThat(report.objectives()).containsExactly(Map.entry("p50", 5.0), Map.entry("p99", 50.0));
+        assertThat(report.breached()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("❌ Should list the percentiles over their objective as breached")
+    void shouldListBreachedPercentiles() {
+        Timer timer = operationTimers.timer("getProductById");
+        for (int i = 0; i < 90; i++) {
+            timer.record(2, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < 10; i++) {
+            timer.record(80, TimeUnit.MILLISECONDS);
+        }
+
+        OperationReport report = endpoint.slo().operations().get("getProductById");
+
+        assertThat(report.p99()).isGreaterThan(50);
+        assertThat(report.breached()).containsExactly("p99");
+    }
+
+    @Test
+    @DisplayName("✅ Operations without objectives should be reported without checks")
+    void operationsWithoutObjectivesShouldNotBreach() {
+        operationTimers.timer("deleteProduct").record(1, TimeUnit.SECONDS);
+        operationTimers.timer("createProduct");
+
+        Map<String, OperationReport> operations = endpoint.slo().operations();
+
+        assertThat(operations).containsOnlyKeys("createProduct", "deleteProduct");
+        assertThat(operations.get("deleteProduct").objectives()).isEmpty();
+        assertThat(operations.get("deleteProduct").breached()).isEmpty();
+        assertThat(operations.get("createProduct").count()).isZero();
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.marcos.products_service.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JfrEndpointTest {
+
+    private static final JfrStatus RECORDING = new JfrStatus(JfrStatus.State.RECORDING, "products-service.jfr",
+            Instant.EPOCH, Instant.EPOCH.plusSeconds(30), null, null);
+
+    @Mock
+    private JfrRecorder recorder;
+
+    @InjectMocks
+    private JfrEndpoint endpoint;
+
+    @Test
+    @DisplayName("✅ POST - Should return 202 ACCEPTED when a recording starts")
+    void startShouldAccept() {
+        when(recorder.start(Duration.ofSeconds(30))).thenReturn(RECORDING);
+
+        WebEndpointResponse<Object> response = endpoint.start(Duration.ofSeconds(30));
+
+        assertThat(response.getStatus()).isEqualTo(202);
+        assertThat(response.getBody()).isEqualTo(RECORDING);
+    }
+
+    @Test
+    @DisplayName("❌ POST - Should return 409 CONFLICT with the running recording")
+    void startWhileRecordingShouldConflict() {
+        when(recorder.start(null)).thenThrow(new IllegalStateException("running"));
+        when(recorder.status()).thenReturn(Optional.of(RECORDING));
+
+        WebEndpointResponse<Object> response = endpoint.start(null);
+
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(response.getBody()).isEqualTo(RECORDING);
+    }
+
+    @Test
+    @DisplayName("❌ POST - Should return 400 BAD REQUEST for a duration over the maximum")
+    void startWithTooLongDurationShouldFail() {
+        when(recorder.start(Duration.ofHours(1))).thenThrow(new IllegalArgumentException("too long"));
+
+        assertThat(endpoint.start(Duration.ofHours(1)).getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("❌ GET - Should return 404 before any recording")
+    void statusWithoutRecordingShouldBeNotFound() {
+        when(recorder.status()).thenReturn(Optional.empty());
+
+        assertThat(endpoint.status().getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("✅ GET /{file} - Should serve the finished recording")
+    void recordingShouldServeFile() {
+        when(recorder.recording("products-service.jfr")).thenReturn(Optional.of(Path.of("products-service.jfr")));
+
+        WebEndpointResponse<Resource> response = endpoint.recording("products-service.jfr");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getBody().getFilename()).isEqualTo("products-service.jfr");
+    }
+
+    @Test
+    @DisplayName("❌ GET /{file} - Should return 404 for any other file")
+    void recordingShouldRejectOtherFiles() {
+        when(recorder.recording("../../etc/passwd")).thenReturn(Optional.empty());
+
+        assertThat(endpoint.recording("../../etc/passwd").getStatus()).isEqualTo(404);
+    }
+
+}
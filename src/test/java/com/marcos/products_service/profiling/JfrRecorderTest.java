@@ -0,0 +1,115 @@
+package com.marcos.products_service.profiling;
+
+import com.marcos.products_service.config.ProductProfilingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JfrRecorderTest {
+
+    @TempDir
+    private Path directory;
+
+    private JfrRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new JfrRecorder(new ProductProfilingProperties(true, Duration.ofSeconds(1), Duration.ofMinutes(1),
+                DataSize.ofMegabytes(20), directory, 5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.destroy();
+    }
+
+    @Test
+    @DisplayName("✅ Should record, then summarize this service's allocation frames")
+    void shouldRecordAndSummarize() throws InterruptedException {
+        JfrStatus started = recorder.start(null);
+        assertThat(started.state()).isEqualTo(JfrStatus.State.RECORDING);
+        assertThat(recorder.recording(started.file())).isEmpty();
+
+        allocateUntil(started);
+        JfrStatus finished = awaitFinished();
+
+        assertThat(finished.state()).isEqualTo(JfrStatus.State.DONE);
+        assertThat(finished.summary().allocatedBytes()).isPositive();
+        assertThat(finished.summary().allocation())
+                .extracting(JfrSummary.AllocationFrame::method)
+                .contains(JfrRecorderTest.class.getName() + ".allocateUntil");
+        assertThat(recorder.recording(finished.file())).get().satisfies(file -> {
+            assertThat(file).startsWith(directory);
+            assertThat(Files.size(file)).isPositive();
+        });
+    }
+
+    @Test
+    @DisplayName("❌ Should refuse a second recording while one is running")
+    void shouldRunOneRecordingAtATime() {
+        recorder.start(Duration.ofSeconds(30));
+
+        assertThatThrownBy(() -> recorder.start(Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("❌ Should refuse durations over the maximum")
+    void shouldRefuseTooLongRecordings() {
+        assertThatThrownBy(() -> recorder.start(Duration.ofMinutes(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> recorder.start(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(recorder.status()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Should keep only the latest recording on disk")
+    void shouldReplacePreviousRecording() throws Exception {
+        JfrStatus first = recorder.start(Duration.ofMillis(200));
+        awaitFinished();
+        Thread.sleep(1000);
+
+        JfrStatus second = recorder.start(Duration.ofMillis(200));
+        awaitFinished();
+
+        assertThat(second.file()).isNotEqualTo(first.file());
+        assertThat(directory.resolve(first.file())).doesNotExist();
+        assertThat(directory.resolve(second.file())).exists();
+    }
+
+    private static void allocateUntil(JfrStatus status) {
+        List<long[]> garbage = new ArrayList<>();
+        while (Instant.now().isBefore(status.endsAt())) {
+            garbage.add(new long[1024]);
+            if (garbage.size() > 1000) {
+                garbage.clear();
+            }
+        }
+    }
+
+    private JfrStatus awaitFinished() throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            JfrStatus status = recorder.status().orElseThrow();
+            if (status.state() != JfrStatus.State.RECORDING) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Recording did not finish");
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.marcos.products_service.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicasTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private ReadReplicas readReplicas;
+
+    @AfterEach
+    void tearDown() {
+        if (readReplicas != null) {
+            readReplicas.close();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Should read from the primary until a check brings replicas into rotation")
+    void shouldStartOutOfRotation() throws SQLException {
+        Replica first = replica(0);
+        readReplicas = readReplicas(Map.of("replica-1", first.dataSource));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(readReplicas.getConnection()).isSameAs(primaryConnection);
+
+        readReplicas.check();
+
+        assertThat(readReplicas.inRotation()).containsExactly("replica-1");
+        assertThat(readReplicas.getConnection()).isSameAs(first.connection);
+        assertThat(meterRegistry.get(ReadReplicas.IN_ROTATION).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should spread reads over the replicas in rotation")
+    void shouldRoundRobin() throws SQLException {
+        Replica first = replica(0);
+        Replica second = replica(0.5);
+        readReplicas = readReplicas(replicas(first, second));
+        readReplicas.check();
+
+        assertThat(readReplicas.getConnection()).isSameAs(first.connection);
+        assertThat(readReplicas.getConnection()).isSameAs(second.connection);
+        assertThat(readReplicas.getConnection()).isSameAs(first.connection);
+        assertThat(meterRegistry.get(ReadReplicas.LAG).tag("replica", "replica-2").gauge().value())
+                .isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("✅ Should take a replica lagging past the maximum out of rotation and back once it catches up")
+    void shouldEvictLaggingReplicas() throws SQLException {
+        Replica first = replica(0);
+        Replica second = replica(0);
+        readReplicas = readReplicas(replicas(first, second));
+        readReplicas.check();
+
+        when(second.lag.getDouble(1)).thenReturn(30.0);
+        readReplicas.check();
+
+        assertThat(readReplicas.inRotation()).containsExactly("replica-1");
+
+        when(second.lag.getDouble(1)).thenReturn(1.0);
+        readReplicas.check();
+
+        assertThat(readReplicas.inRotation()).containsExactly("replica-1", "replica-2");
+    }
+
+    @Test
+    @DisplayName("✅ Should move on to the next replica, and then the primary, when one fails")
+    void shouldFailOver() throws SQLException {
+        Replica first = replica(0);
+        Replica second = replica(0);
+        readReplicas = readReplicas(replicas(first, second));
+        readReplicas.check();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        when(first.dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThat(readReplicas.getConnection()).isSameAs(second.connection);
+        assertThat(readReplicas.inRotation()).containsExactly("replica-2");
+
+        when(second.dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThat(readReplicas.getConnection()).isSameAs(primaryConnection);
+        assertThat(readReplicas.inRotation()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Should read from the primary while reads are pinned to it")
+    void shouldHonourPins() throws SQLException {
+        Replica first = replica(0);
+        readReplicas = readReplicas(Map.of("replica-1", first.dataSource));
+        readReplicas.check();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        try (PrimaryReads.Pin pin = PrimaryReads.pin()) {
+            assertThat(readReplicas.getConnection()).isSameAs(primaryConnection);
+        }
+
+        assertThat(PrimaryReads.isPinned()).isFalse();
+        assertThat(readReplicas.getConnection()).isSameAs(first.connection);
+    }
+
+    @Test
+    @DisplayName("❌ Should need at least one replica")
+    void shouldRejectNoReplicas() {
+        assertThatThrownBy(() -> readReplicas(Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("products.replicas.urls");
+    }
+
+    private ReadReplicas readReplicas(Map<String, DataSource> replicas) {
+        return new ReadReplicas(primary, replicas, Duration.ofSeconds(5), Duration.ofSeconds(2), meterRegistry);
+    }
+
+    private static Map<String, DataSource> replicas(Replica... replicas) {
+        Map<String, DataSource> named = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            named.put("replica-" + (named.size() + 1), replica.dataSource);
+        }
+        return named;
+    }
+
+    private static Replica replica(double lagSeconds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet lag = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReadReplicas.LAG_QUERY)).thenReturn(lag);
+        when(lag.next()).thenReturn(true);
+        when(lag.getDouble(1)).thenReturn(lagSeconds);
+        return new Replica(dataSource, connection, lag);
+    }
+
+    private record Replica(DataSource dataSource, Connection connection, ResultSet lag) {
+    }
+
+}
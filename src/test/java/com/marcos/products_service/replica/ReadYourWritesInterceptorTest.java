@@ -0,0 +1,122 @@
+package com.marcos.products_service.replica;
+
+import com.marcos.products_service.controller.ProductController;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReadYourWritesInterceptorTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private ReadYourWritesInterceptor interceptor;
+    private MockHttpServletResponse response;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(10), Clock.fixed(NOW, ZoneOffset.UTC));
+        response = new MockHttpServletResponse();
+        handler = new HandlerMethod(mock(ProductController.class),
+                ProductController.class.getMethod("delete", Long.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        assertThat(PrimaryReads.isPinned()).isFalse();
+    }
+
+    @Test
+    @DisplayName("✅ Should answer writes with a token and read from the primary while handling them")
+    void shouldPinWrites() {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/v1/products/1");
+
+        interceptor.preHandle(request, response, handler);
+
+        assertThat(PrimaryReads.isPinned()).isTrue();
+        assertThat(response.getHeader(ReadYourWritesInterceptor.HEADER))
+                .isEqualTo(Long.toString(NOW.plusSeconds(10).toEpochMilli()));
+
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    @Test
+    @DisplayName("✅ Should read from the primary for a client with a current token")
+    void shouldPinReadsWithCurrentToken() {
+        MockHttpServletRequest request = get(NOW.plusSeconds(3).toEpochMilli());
+
+        interceptor.preHandle(request, response, handler);
+
+        assertThat(PrimaryReads.isPinned()).isTrue();
+        assertThat(response.getHeader(ReadYourWritesInterceptor.HEADER)).isNull();
+
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    @Test
+    @DisplayName("✅ Should let reads go to replicas without a token or with an expired one")
+    void shouldNotPinOtherReads() {
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{
+                new MockHttpServletRequest("GET", "/api/v1/products/1"),
+                get(NOW.minusSeconds(1).toEpochMilli())}) {
+            interceptor.preHandle(request, response, handler);
+
+            assertThat(PrimaryReads.isPinned()).isFalse();
+
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Should ignore tokens that are malformed or reach past the pin window")
+    void shouldIgnoreInvalidTokens() {
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        malformed.addHeader(ReadYourWritesInterceptor.HEADER, "soon");
+
+        interceptor.preHandle(malformed, response, handler);
+        assertThat(PrimaryReads.isPinned()).isFalse();
+
+        MockHttpServletRequest forged = get(NOW.plusSeconds(3600).toEpochMilli());
+
+        interceptor.preHandle(forged, response, handler);
+        assertThat(PrimaryReads.isPinned()).isFalse();
+    }
+
+    @Test
+    @DisplayName("✅ Should unpin when the request goes async")
+    void shouldUnpinAsyncRequests() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/products/import");
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        assertThat(PrimaryReads.isPinned()).isFalse();
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+
+        assertThat(PrimaryReads.isPinned()).isFalse();
+
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    private static MockHttpServletRequest get(long token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        request.addHeader(ReadYourWritesInterceptor.HEADER, Long.toString(token));
+        return request;
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.marcos.products_service.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.products_service.cache.ProductChangeNotifier;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductImportReport;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+class ProductImportServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportServiceImpl(
+                mock(JdbcTemplate.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                objectMapper,
+                mock(ProductChangeNotifier.class));
+    }
+
+    @Test
+    @DisplayName("✅ Valid rows should be written in COPY text format with dense positions")
+    void validRowsShouldBeWrittenAsCopyText() throws IOException {
+        // Arrange
+        String upload = """
+                {"name": "Laptop", "price": 1200.99, "description": "Core i7\\tSSD"}
+                {"name": "Mouse", "price": 25}
+                """;
+        StringWriter copy = new StringWriter();
+
+        // Act
+        ProductImportServiceImpl.Counts counts = importService.copyRows(rows(upload), copy);
+
+        // Assert
+        assertThat(counts.staged).isEqualTo(2);
+        assertThat(counts.rejected).isZero();
+        assertThat(copy.toString()).isEqualTo("0\tLaptop\t1200.99\tCore i7\\tSSD\n1\tMouse\t25.0\t\\N\n");
+    }
+
+    @Test
+    @DisplayName("❌ Invalid rows should be rejected with their record number and skipped")
+    void invalidRowsShouldBeRejected() throws IOException {
+        // Arrange
+        String upload = """
+                {"name": "   ", "price": 10}
+                {"name": "Valid", "price": 10}
+                {"name": "Free", "price": 0}
+                {"name": "Broken", "price": "abc"}
+                """;
+        StringWriter copy = new StringWriter();
+
+        // Act
+        ProductImportServiceImpl.Counts counts = importService.copyRows(rows(upload), copy);
+
+        // Assert
+        assertThat(counts.staged).isEqualTo(1);
+        assertThat(counts.rejected).isEqualTo(3);
+        assertThat(counts.rejections)
+                .extracting(ProductImportReport.Rejection::record, ProductImportReport.Rejection::field)
+                .containsExactly(
+                        tuple(1L, "name"),
+                        tuple(3L, "price"),
+                        tuple(4L, "price"));
+        assertThat(copy.toString()).isEqualTo("0\tValid\t10.0\t\\N\n");
+    }
+
+    @Test
+    @DisplayName("❌ Rows that don't fit the products columns should be rejected instead of failing the COPY")
+    void rowsOutsideColumnLimitsShouldBeRejected() throws IOException {
+        // Arrange
+        String upload = """
+                {"name": "%s", "price": 10}
+                {"name": "Too expensive", "price": 100000000}
+                {"name": "Rounds to zero", "price": 0.001}
+                {"name": "Most expensive", "price": 99999999.99}
+                {"name": "Cheapest", "price": 0.01}
+                """.formatted("x".repeat(101));
+        StringWriter copy = new StringWriter();
+
+        // Act
+        ProductImportServiceImpl.Counts counts = importService.copyRows(rows(upload), copy);
+
+        // Assert
+        assertThat(counts.staged).isEqualTo(2);
+        assertThat(counts.rejections)
+                .extracting(ProductImportReport.Rejection::record, ProductImportReport.Rejection::field)
+                .containsExactly(
+                        tuple(1L, "name"),
+                        tuple(2L, "price"),
+                        tuple(3L, "price"));
+    }
+
+    @Test
+    @DisplayName("✅ COPY values should escape backslashes and line breaks")
+    void copyValuesShouldBeEscaped() {
+        StringBuilder line = new StringBuilder();
+
+        ProductImportServiceImpl.appendCopyValue(line, "a\\b\nc\rd");
+
+        assertThat(line).hasToString("a\\\\b\\nc\\rd");
+    }
+
+    private MappingIterator<ProductDTO> rows(String upload) throws IOException {
+        return objectMapper.readerFor(ProductDTO.class).readValues(upload);
+    }
+
+}
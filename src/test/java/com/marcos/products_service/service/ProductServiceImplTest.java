@@ -1,23 +1,58 @@
 package com.marcos.products_service.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.products_service.cache.ProductCache;
+import com.marcos.products_service.cache.ProductChangeNotifier;
+import com.marcos.products_service.cache.ProductRequestCoalescer;
+import com.marcos.products_service.catalog.ProductAutocomplete;
+import com.marcos.products_service.config.ProductBatchProperties;
+import com.marcos.products_service.config.ProductCacheInvalidationProperties;
+import com.marcos.products_service.config.ProductCacheProperties;
+import com.marcos.products_service.config.ProductReplicaProperties;
+import com.marcos.products_service.config.ProductSearchProperties;
+import com.marcos.products_service.dto.ProductCursor;
 import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductLookup;
+import com.marcos.products_service.dto.ProductPage;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSearchCursor;
+import com.marcos.products_service.dto.ProductSearchHit;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.dto.ProductSuggestion;
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import com.marcos.products_service.exception.InvalidProductPatchException;
 import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.exception.ProductVersionMismatchException;
 import com.marcos.products_service.model.Product;
 import com.marcos.products_service.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +61,37 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ProductBatchProperties batchProperties;
+
+    @Spy
+    private ProductRequestCoalescer coalescer = new ProductRequestCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private ProductCache productCache = new ProductCache(
+            new ProductCacheProperties(100, Duration.ofMinutes(10), Duration.ofSeconds(30)),
+            coalescer, new SimpleMeterRegistry(),
+            new ProductReplicaProperties(false, List.of(), null, null, 10, Duration.ofSeconds(2),
+                    Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(10)));
+
+    @Spy
+    private ProductChangeNotifier changeNotifier = new ProductChangeNotifier(mock(JdbcTemplate.class),
+            new ProductCacheInvalidationProperties(false, "products_changed",
+                    Duration.ofMillis(500), Duration.ofSeconds(30), Duration.ofSeconds(5)),
+            List.of(productCache));
+
+    @Mock
+    private ProductSearchProperties searchProperties;
+
+    @Mock
+    private ProductAutocomplete autocomplete;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -56,6 +122,28 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).save(any(Product.class));
     }
 
+    @Test
+    @DisplayName("✅ Create products should save and flush in batches")
+    @SuppressWarnings("unchecked")
+    void createProductsShouldSaveInBatches() {
+        // Arrange
+        List<ProductDTO> dtos = List.of(
+                new ProductDTO("A", 1.0, null),
+                new ProductDTO("B", 2.0, null),
+                new ProductDTO("C", 3.0, null));
+        when(batchProperties.size()).thenReturn(2);
+        when(productRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        List<Product> result = productService.createProducts(dtos);
+
+        // Assert
+        assertThat(result).extracting(Product::getName).containsExactly("A", "B", "C");
+        verify(productRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
     @Test
     @DisplayName("✅ Get all products should return product list")
     void getAllProductsShouldReturnAll() {
@@ -70,6 +158,166 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("✅ Get products should return next cursor when more rows exist")
+    void getProductsShouldReturnNextCursorWhenMoreRowsExist() {
+        // Arrange
+        Product second = new Product(2L, "Second", 200.0, null);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testProduct, second));
+
+        // Act
+        ProductPage page = productService.getProducts(ProductSort.PRICE, ProductFilter.NONE, null, 1);
+
+        // Assert
+        assertThat(page.products()).containsExactly(testProduct);
+        assertThat(ProductCursor.decode(page.nextCursor(), ProductSort.PRICE))
+                .isEqualTo(new ProductCursor(ProductSort.PRICE, 1L, "100.0"));
+    }
+
+    @Test
+    @DisplayName("✅ Get products should not return cursor on last page")
+    void getProductsShouldNotReturnCursorOnLastPage() {
+        // Arrange
+        String cursor = new ProductCursor(ProductSort.ID, 1L, "").encode();
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testProduct));
+
+        // Act
+        ProductPage page = productService.getProducts(ProductSort.ID, ProductFilter.NONE, cursor, 20);
+
+        // Assert
+        assertThat(page.products()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("✅ Search products should rank with the configured text search configuration")
+    void searchProductsShouldUseConfiguredConfig() {
+        // Arrange
+        Product second = new Product(2L, "Second", 200.0, null);
+        when(searchProperties.config()).thenReturn("spanish");
+        when(productRepository.search("spanish", "cámara", null, 2)).thenReturn(List.of(
+                new ProductSearchHit(testProduct, 0.6f), new ProductSearchHit(second, 0.2f)));
+
+        // Act
+        ProductPage page = productService.searchProducts("cámara", null, 1);
+
+        // Assert
+        assertThat(page.products()).containsExactly(testProduct);
+        assertThat(ProductSearchCursor.decode(page.nextCursor())).isEqualTo(new ProductSearchCursor(0.6f, 1L));
+    }
+
+    @Test
+    @DisplayName("✅ Search products should seek past the cursor")
+    void searchProductsShouldSeekPastCursor() {
+        // Arrange
+        ProductSearchCursor cursor = new ProductSearchCursor(0.6f, 1L);
+        when(searchProperties.config()).thenReturn("simple");
+        when(productRepository.search("simple", "monitor", cursor, 21)).thenReturn(List.of());
+
+        // Act
+        ProductPage page = productService.searchProducts("monitor", cursor.encode(), 20);
+
+        // Assert
+        assertThat(page.products()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("❌ Search products should reject a blank query")
+    void searchProductsShouldRejectBlankQuery() {
+        // Act & Assert
+        assertThatThrownBy(() -> productService.searchProducts("  ", null, 20))
+                .isInstanceOfSatisfying(InvalidPageRequestException.class, ex ->
+                        assertThat(ex.getParameter()).isEqualTo("q"));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("✅ Get products by ids should keep the requested order and report missing ids")
+    void getProductsByIdsShouldKeepOrderAndReportMissing() {
+        // Arrange
+        Product second = new Product(2L, "Second", 200.0, null);
+        when(productRepository.findAllByIdArray(any(Long[].class))).thenReturn(List.of(testProduct, second));
+
+        // Act
+        ProductLookup lookup = productService.getProductsByIds(List.of(2L, 9L, 1L, 2L));
+
+        // Assert
+        assertThat(lookup.products()).containsExactly(second, testProduct);
+        assertThat(lookup.missing()).containsExactly(9L);
+        verify(productRepository, times(1)).findAllByIdArray(any(Long[].class));
+    }
+
+    @Test
+    @DisplayName("✅ Get products by ids should only query the ids not in the cache")
+    void getProductsByIdsShouldServeCacheHits() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        productService.getProductById(1L);
+        when(productRepository.findAllByIdArray(new Long[]{3L})).thenReturn(List.of());
+
+        // Act
+        ProductLookup lookup = productService.getProductsByIds(List.of(1L, 3L));
+
+        // Assert
+        assertThat(lookup.products()).containsExactly(testProduct);
+        assertThat(lookup.missing()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("❌ Get products by ids should reject too many ids")
+    void getProductsByIdsShouldRejectTooManyIds() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, ProductServiceImpl.MAX_LOOKUP_IDS + 1)
+                .boxed()
+                .toList();
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getProductsByIds(ids))
+                .isInstanceOf(InvalidPageRequestException.class);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("✅ Suggest products should complete from the autocomplete index")
+    void suggestProductsShouldUseAutocompleteIndex() {
+        // Arrange
+        when(autocomplete.suggest("cam", 5)).thenReturn(List.of(new ProductSuggestion(1L, "Cámara Canon EOS R6")));
+
+        // Act
+        List<ProductSuggestion> suggestions = productService.suggestProducts("cam", 5);
+
+        // Assert
+        assertThat(suggestions).extracting(ProductSuggestion::name).containsExactly("Cámara Canon EOS R6");
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("❌ Suggest products should reject a blank prefix")
+    void suggestProductsShouldRejectBlankPrefix() {
+        // Act & Assert
+        assertThatThrownBy(() -> productService.suggestProducts("", 5))
+                .isInstanceOf(InvalidPageRequestException.class);
+        verifyNoInteractions(autocomplete);
+    }
+
+    @Test
+    @DisplayName("✅ Export products should stream and detach every product")
+    void exportProductsShouldDetachEveryProduct() {
+        // Arrange
+        Product second = new Product(2L, "Second", 200.0, null);
+        when(productRepository.streamAllOrderById()).thenReturn(Stream.of(testProduct, second));
+        List<Product> exported = new ArrayList<>();
+
+        // Act
+        productService.exportProducts(exported::add);
+
+        // Assert
+        assertThat(exported).containsExactly(testProduct, second);
+        verify(entityManager).detach(testProduct);
+        verify(entityManager).detach(second);
+    }
+
     @Test
     @DisplayName("✅ Get product by ID should return product")
     void getProductByIdShouldReturnProduct() {
@@ -86,32 +334,199 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("✅ Get product by ID should be served from cache on repeated calls")
+    void getProductByIdShouldBeCached() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        productService.getProductById(1L);
+        Optional<Product> result = productService.getProductById(1L);
+
+        // Assert
+        assertThat(result).contains(testProduct);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("✅ Missing products should be cached until they are created")
+    void missingProductShouldBeCachedUntilCreated() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+        // Act
+        productService.getProductById(1L);
+        Optional<Product> cachedMiss = productService.getProductById(1L);
+        productService.createProduct(new ProductDTO("Test Product", 100.0, "Test Description"));
+        Optional<Product> afterCreate = productService.getProductById(1L);
+
+        // Assert
+        assertThat(cachedMiss).isEmpty();
+        assertThat(afterCreate).contains(testProduct);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
     @Test
     @DisplayName("✅ Update product should modify fields")
     void updateProductShouldModifyFields() throws ProductNotFoundException {
         // Arrange
         ProductDTO updateDto = new ProductDTO("Updated", 150.0, "New Desc");
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(productRepository.updateReturning(1L, "Updated", 150.0, "New Desc"))
+                .thenReturn(Optional.of(new Product(1L, "Updated", 150.0, "New Desc", 1L)));
 
         // Act
         Product result = productService.updateProduct(1L, updateDto);
 
         // Assert
         assertThat(result.getName()).isEqualTo("Updated");
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any(Product.class));
+        assertThat(productService.getProductById(1L))
+                .get()
+                .extracting(Product::getName)
+                .isEqualTo("Updated");
+    }
+
+    @Test
+    @DisplayName("❌ Update product should report missing products as not found")
+    void updateProductShouldReportMissingProduct() {
+        // Arrange
+        ProductDTO updateDto = new ProductDTO("Updated", 150.0, "New Desc");
+        when(productRepository.updateReturning(1L, "Updated", 150.0, "New Desc")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.updateProduct(1L, updateDto))
+                .isInstanceOf(ProductNotFoundException.class);
+        verify(changeNotifier, never()).productSaved(any());
+    }
+
+    @Test
+    @DisplayName("✅ Conditional update should write without reading first")
+    void conditionalUpdateShouldNotReadFirst() throws ProductNotFoundException {
+        // Arrange
+        ProductDTO updateDto = new ProductDTO("Updated", 150.0, "New Desc");
+        when(productRepository.updateIfVersion(1L, 2L, "Updated", 150.0, "New Desc")).thenReturn(1);
+
+        // Act
+        Product result = productService.updateProduct(1L, updateDto, 2L);
+
+        // Assert
+        assertThat(result.getVersion()).isEqualTo(3L);
+        verify(productRepository, never()).findById(any());
+        assertThat(productService.getProductVersion(1L)).contains(3L);
+    }
+
+    @Test
+    @DisplayName("❌ Conditional update should fail on a stale version")
+    void conditionalUpdateShouldFailOnStaleVersion() {
+        // Arrange
+        ProductDTO updateDto = new ProductDTO("Updated", 150.0, "New Desc");
+        when(productRepository.updateIfVersion(1L, 2L, "Updated", 150.0, "New Desc")).thenReturn(0);
+        when(productRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.updateProduct(1L, updateDto, 2L))
+                .isInstanceOf(ProductVersionMismatchException.class);
+        verify(changeNotifier, never()).productSaved(any());
+    }
+
+    @Test
+    @DisplayName("❌ Conditional update should report missing products as not found")
+    void conditionalUpdateShouldReportMissingProduct() {
+        // Arrange
+        ProductDTO updateDto = new ProductDTO("Updated", 150.0, "New Desc");
+        when(productRepository.updateIfVersion(1L, 2L, "Updated", 150.0, "New Desc")).thenReturn(0);
+        when(productRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.updateProduct(1L, updateDto, 2L))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("✅ Version lookups should use the version query on a cache miss")
+    void getProductVersionShouldUseProjectionOnCacheMiss() {
+        // Arrange
+        when(productRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        // Act
+        Optional<Long> version = productService.getProductVersion(1L);
+
+        // Assert
+        assertThat(version).contains(4L);
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("✅ Patch product should update only the patched columns")
+    void patchProductShouldUpdatePatchedColumns() throws Exception {
+        // Arrange
+        ProductPatch patch = ProductPatch.from(new ObjectMapper().readTree("{\"price\": 120.0}"));
+        Product patched = new Product(1L, "Test Product", 120.0, "Test Description", 1L);
+        when(productRepository.patchReturning(1L, patch, null)).thenReturn(Optional.of(patched));
+
+        // Act
+        Product result = productService.patchProduct(1L, patch);
+
+        // Assert
+        assertThat(result.getPrice()).isEqualTo(120.0);
+        verify(productRepository, never()).findById(any());
+        verify(changeNotifier).productSaved(patched);
+    }
+
+    @Test
+    @DisplayName("❌ Patch product should apply the ProductDTO rules")
+    void patchProductShouldValidateValues() throws Exception {
+        // Arrange
+        ProductPatch patch = ProductPatch.from(new ObjectMapper().readTree("{\"name\": \" \", \"price\": -1}"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.patchProduct(1L, patch))
+                .isInstanceOfSatisfying(InvalidProductPatchException.class, ex ->
+                        assertThat(ex.getViolations())
+                                .extracting(InvalidProductPatchException.Violation::attribute)
+                                .containsExactlyInAnyOrder("name", "price"));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("❌ Conditional patch should fail on a stale version")
+    void conditionalPatchShouldFailOnStaleVersion() throws Exception {
+        // Arrange
+        ProductPatch patch = ProductPatch.from(new ObjectMapper().readTree("{\"description\": null}"));
+        when(productRepository.patchReturning(1L, patch, 2L)).thenReturn(Optional.empty());
+        when(productRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.patchProduct(1L, patch, 2L))
+                .isInstanceOf(ProductVersionMismatchException.class);
     }
 
     @Test
     @DisplayName("✅ Delete product should call repository")
     void deleteProductShouldCallRepository() throws ProductNotFoundException {
         // Arrange
-        when(productRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.removeById(1L)).thenReturn(1);
 
         // Act & Assert
         assertThatNoException()
                 .isThrownBy(() -> productService.deleteProduct(1L));
-        verify(productRepository, times(1)).deleteById(1L);
+        verify(productRepository, never()).existsById(any());
+        verify(changeNotifier).productDeleted(1L);
+    }
+
+    @Test
+    @DisplayName("❌ Delete product should report missing products as not found")
+    void deleteProductShouldReportMissingProduct() {
+        // Arrange
+        when(productRepository.removeById(1L)).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.deleteProduct(1L))
+                .isInstanceOf(ProductNotFoundException.class);
+        verify(changeNotifier, never()).productDeleted(any());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.marcos.products_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.products_service.config.ProductBatchProperties;
+import com.marcos.products_service.config.ProductCacheInvalidationProperties;
+import com.marcos.products_service.config.ProductSearchProperties;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.dto.ProductFilter;
+import com.marcos.products_service.dto.ProductPageStream;
+import com.marcos.products_service.dto.ProductPatch;
+import com.marcos.products_service.dto.ProductSort;
+import com.marcos.products_service.exception.InvalidPageRequestException;
+import com.marcos.products_service.exception.InvalidProductPatchException;
+import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.exception.ProductVersionMismatchException;
+import com.marcos.products_service.model.Product;
+import com.marcos.products_service.repository.ReactiveProductRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductServiceImplTest {
+
+    @Mock
+    private ReactiveProductRepository productRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ProductBatchProperties batchProperties;
+
+    @Mock
+    private ProductCacheInvalidationProperties invalidationProperties;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ProductSearchProperties searchProperties;
+
+    @InjectMocks
+    private ReactiveProductServiceImpl productService;
+
+    private ProductDTO productDTO;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productDTO = new ProductDTO("Mouse", 25.0, "Wireless");
+        product = new Product(1L, "Mouse", 25.0, "Wireless", 3L);
+    }
+
+    @Test
+    @DisplayName("✅ Create product should insert and return product")
+    void createProductShouldInsert() {
+        // Arrange
+        when(productRepository.insert(productDTO)).thenReturn(Mono.just(product));
+
+        // Act & Assert
+        StepVerifier.create(productService.createProduct(productDTO))
+                .expectNext(product)
+                .verifyComplete();
+        verify(productRepository, never()).publishChange(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("✅ Writes should be announced to other nodes when invalidation is enabled")
+    void writesShouldBeAnnouncedWhenInvalidationEnabled() {
+        // Arrange
+        when(invalidationProperties.enabled()).thenReturn(true);
+        when(invalidationProperties.channel()).thenReturn("products_changed");
+        when(productRepository.insert(productDTO)).thenReturn(Mono.just(product));
+        when(productRepository.publishChange(eq("products_changed"), anyString())).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(productService.createProduct(productDTO))
+                .expectNext(product)
+                .verifyComplete();
+        verify(productRepository).publishChange(eq("products_changed"), endsWith(":1"));
+    }
+
+    @Test
+    @DisplayName("✅ Create products should insert in batches within one transaction")
+    @SuppressWarnings("unchecked")
+    void createProductsShouldInsertInBatches() {
+        // Arrange
+        List<ProductDTO> dtos = List.of(
+                new ProductDTO("A", 1.0, null),
+                new ProductDTO("B", 2.0, null),
+                new ProductDTO("C", 3.0, null));
+        when(batchProperties.size()).thenReturn(2);
+        when(transactionalOperator.transactional(any(Flux.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(productRepository.insertAll(anyList())).thenAnswer(inv -> Flux.fromIterable(
+                inv.<List<ProductDTO>>getArgument(0)).map(dto -> new Product(1L, dto.getName(), dto.getPrice(), null)));
+
+        // Act & Assert
+        StepVerifier.create(productService.createProducts(dtos))
+                .assertNext(created -> assertThat(created).extracting(Product::getName).containsExactly("A", "B", "C"))
+                .verifyComplete();
+        verify(productRepository, times(2)).insertAll(anyList());
+        verify(transactionalOperator).transactional(any(Flux.class));
+    }
+
+    @Test
+    @DisplayName("✅ Get products should read one row more than the page size")
+    void getProductsShouldReadOneExtraRow() {
+        // Arrange
+        when(productRepository.findPage(ProductSort.ID, ProductFilter.NONE, null, 21)).thenReturn(Flux.just(product));
+
+        // Act
+        ProductPageStream page = productService.getProducts(ProductSort.ID, ProductFilter.NONE, null, 20);
+
+        // Assert
+        assertThat(page.pageSize()).isEqualTo(20);
+        StepVerifier.create(page.rows()).expectNext(product).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("❌ Search with a blank query should be rejected before querying")
+    void searchWithBlankQueryShouldBeRejected() {
+        assertThrows(InvalidPageRequestException.class, () -> productService.searchProducts(" ", null, 20));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("✅ Lookup should keep the requested order and list missing ids")
+    void lookupShouldKeepOrderAndListMissing() {
+        // Arrange
+        Product second = new Product(2L, "Cable", 10.0, null);
+        when(productRepository.findAllByIdArray(new Long[]{2L, 1L, 9L})).thenReturn(Flux.just(product, second));
+
+        // Act & Assert
+        StepVerifier.create(productService.getProductsByIds(List.of(2L, 1L, 9L, 2L)))
+                .assertNext(lookup -> {
+                    assertThat(lookup.products()).extracting(Product::getId).containsExactly(2L, 1L);
+                    assertThat(lookup.missing()).containsExactly(9L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("❌ Update should fail with not found when no row comes back")
+    void updateShouldFailWhenProductMissing() {
+        // Arrange
+        when(productRepository.updateReturning(1L, productDTO)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(productService.updateProduct(1L, productDTO))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("✅ Conditional update should return the product at the next version")
+    void conditionalUpdateShouldBumpVersion() {
+        // Arrange
+        when(productRepository.updateIfVersion(1L, 3L, productDTO)).thenReturn(Mono.just(1L));
+
+        // Act & Assert
+        StepVerifier.create(productService.updateProduct(1L, productDTO, 3L))
+                .assertNext(updated -> assertThat(updated.getVersion()).isEqualTo(4L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("❌ Conditional update of a stale version should fail with a version mismatch")
+    void conditionalUpdateOfStaleVersionShouldFail() {
+        // Arrange
+        when(productRepository.updateIfVersion(1L, 2L, productDTO)).thenReturn(Mono.just(0L));
+        when(productRepository.findVersionById(1L)).thenReturn(Mono.just(3L));
+
+        // Act & Assert
+        StepVerifier.create(productService.updateProduct(1L, productDTO, 2L))
+                .expectError(ProductVersionMismatchException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("❌ Conditional update of a missing product should fail with not found")
+    void conditionalUpdateOfMissingProductShouldFail() {
+        // Arrange
+        when(productRepository.updateIfVersion(1L, 2L, productDTO)).thenReturn(Mono.just(0L));
+        when(productRepository.findVersionById(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(productService.updateProduct(1L, productDTO, 2L))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("✅ Patch should write only the patched columns")
+    void patchShouldWritePatchedColumns() {
+        // Arrange
+        ProductPatch patch = ProductPatch.from(new ObjectMapper().createObjectNode().put("price", 30.0));
+        when(productRepository.patchReturning(eq(1L), eq(patch), isNull())).thenReturn(Mono.just(product));
+
+        // Act & Assert
+        StepVerifier.create(productService.patchProduct(1L, patch))
+                .expectNext(product)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("❌ Patch with an invalid value should be rejected before writing")
+    void patchWithInvalidValueShouldBeRejected() {
+        ProductPatch patch = ProductPatch.from(new ObjectMapper().createObjectNode().put("price", -1.0));
+
+        assertThrows(InvalidProductPatchException.class, () -> productService.patchProduct(1L, patch));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("❌ Delete should fail with not found when no row was deleted")
+    void deleteShouldFailWhenProductMissing() {
+        // Arrange
+        when(productRepository.removeById(1L)).thenReturn(Mono.just(0L));
+
+        // Act & Assert
+        StepVerifier.create(productService.deleteProduct(1L))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.marcos.products_service.service;
+
+import com.marcos.products_service.config.ProductSloProperties;
+import com.marcos.products_service.dto.ProductDTO;
+import com.marcos.products_service.exception.ProductNotFoundException;
+import com.marcos.products_service.metrics.OperationTimers;
+import com.marcos.products_service.model.Product;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimedProductServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimedProductService timedProductService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timedProductService = new TimedProductService(productService,
+                new OperationTimers(meterRegistry, new ProductSloProperties(Map.of())));
+    }
+
+    @Test
+    @DisplayName("✅ Should time each call under its operation")
+    void shouldTimeCallsPerOperation() {
+        // Arrange
+        Product product = new Product(1L, "Laptop", 1500.0, null);
+        when(productService.getProductById(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        Optional<Product> found = timedProductService.getProductById(1L);
+
+        // Assert
+        assertThat(found).contains(product);
+        assertThat(timer("getProductById").count()).isEqualTo(1);
+        assertThat(timer("deleteProduct").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Both overloads of an operation should share its timer")
+    void overloadsShouldShareTimer() {
+        // Arrange
+        ProductDTO dto = new ProductDTO("Laptop", 1500.0, null);
+
+        // Act
+        timedProductService.updateProduct(1L, dto);
+        timedProductService.updateProduct(1L, dto, 3L);
+
+        // Assert
+        verify(productService).updateProduct(1L, dto);
+        verify(productService).updateProduct(1L, dto, 3L);
+        assertThat(timer("updateProduct").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("❌ Should time failed calls too")
+    void shouldTimeFailedCalls() {
+        // Arrange
+        doThrow(new ProductNotFoundException(1L)).when(productService).deleteProduct(1L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> timedProductService.deleteProduct(1L))
+                .isInstanceOf(ProductNotFoundException.class);
+        assertThat(timer("deleteProduct").count()).isEqualTo(1);
+    }
+
+    private Timer timer(String operation) {
+        return meterRegistry.get("products.service").tag("operation", operation).timer();
+    }
+
+}